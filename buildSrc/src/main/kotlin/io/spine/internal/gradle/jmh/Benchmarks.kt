@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.internal.gradle.jmh
+
+import io.spine.internal.dependency.Jmh
+import org.gradle.api.Project
+import org.gradle.api.tasks.JavaExec
+import org.gradle.api.tasks.SourceSet
+import org.gradle.api.tasks.SourceSetContainer
+import org.gradle.kotlin.dsl.register
+import org.gradle.kotlin.dsl.the
+import org.gradle.process.CommandLineArgumentProvider
+
+/**
+ * Adds the JMH benchmarks to this project.
+ *
+ * Creates the `jmh` source set, which sees the main classes and dependencies of the project,
+ * and registers the `jmh` task running the benchmarks with the GC profiler. The results are
+ * written to `build/reports/jmh/results.json`.
+ *
+ * The benchmarks are not a part of the regular build. Run them with `./gradlew :<project>:jmh`.
+ * Pass JMH options via the `jmhArgs` property, e.g. `-PjmhArgs="-p generator=all"`.
+ *
+ * Here's an example of how to use it:
+ *
+ * ```
+ * val jmh = jmhBenchmarks("Runs the JMH benchmarks of the code generators.")
+ * dependencies {
+ *     jmh.implementationConfigurationName(spine.base)
+ * }
+ * ```
+ *
+ * @param description
+ *         the description of the `jmh` task
+ * @param jvmArgs
+ *         the arguments appended to the command line of the JVM forked by JMH
+ *         for running the benchmarks
+ * @return the `jmh` source set
+ */
+@Suppress("unused")
+fun Project.jmhBenchmarks(description: String, jvmArgs: List<String> = listOf()): SourceSet {
+    val sourceSets = the<SourceSetContainer>()
+    val main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+    val jmh = sourceSets.create("jmh") {
+        compileClasspath += main.output
+        runtimeClasspath += main.output
+    }
+    configurations.named(jmh.implementationConfigurationName) {
+        extendsFrom(configurations.getByName(main.implementationConfigurationName))
+    }
+    configurations.named(jmh.runtimeOnlyConfigurationName) {
+        extendsFrom(configurations.getByName(main.runtimeOnlyConfigurationName))
+    }
+    dependencies.add(jmh.implementationConfigurationName, Jmh.core)
+    dependencies.add(jmh.annotationProcessorConfigurationName, Jmh.annotationProcessor)
+
+    tasks.register<JavaExec>("jmh") {
+        group = "benchmark"
+        this.description = description
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        val results = layout.buildDirectory.file("reports/jmh/results.json")
+        outputs.file(results)
+        outputs.upToDateWhen { false }
+        val jmhArgs = providers.gradleProperty("jmhArgs")
+        argumentProviders.add(CommandLineArgumentProvider {
+            val userArgs = jmhArgs.orNull?.split(' ')?.filter { it.isNotBlank() } ?: listOf()
+            val forkArgs = if (jvmArgs.isEmpty()) {
+                listOf()
+            } else {
+                listOf("-jvmArgsAppend", jvmArgs.joinToString(" "))
+            }
+            forkArgs + listOf(
+                "-prof", "gc",
+                "-rf", "json",
+                "-rff", results.get().asFile.absolutePath
+            ) + userArgs
+        })
+    }
+    return jmh
+}
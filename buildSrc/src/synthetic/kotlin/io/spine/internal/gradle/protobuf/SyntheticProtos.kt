@@ -0,0 +1,217 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.internal.gradle.protobuf
+
+import java.io.File
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Generates a corpus of `.proto` files of the given size.
+ *
+ * The files follow the conventions of the Model Compiler, so that all of its code generators
+ * have work to do:
+ *
+ *  1. Each file declares messages of one kind: commands, events, rejections, entity states,
+ *     or plain messages. The kind is defined by the file name.
+ *
+ *  2. The message fields use the `(required)`, `(pattern)`, `(distinct)`, and `(validate)`
+ *     constraints. The scalar fields of entity states are marked as columns.
+ *
+ *  3. The files and the messages use the API level options, such as `(beta_type)`
+ *     or `(internal_all)`.
+ *
+ *  4. Each file of plain messages also declares a UUID value.
+ *
+ * Each top-level message declares one nested message, so a corpus of `N` files with `M`
+ * messages each consists of about `2 * N * M` types.
+ *
+ * The same corpus is processed by the JMH benchmarks of `mc-java-protoc` and by
+ * the `scaling` project of the `tests` build.
+ */
+@CacheableTask
+abstract class GenerateSyntheticProtos : DefaultTask() {
+
+    /**
+     * The number of files to generate.
+     */
+    @get:Input
+    abstract val files: Property<Int>
+
+    /**
+     * The number of the top-level messages in each file.
+     */
+    @get:Input
+    abstract val messagesPerFile: Property<Int>
+
+    /**
+     * The number of fields in each top-level message.
+     */
+    @get:Input
+    abstract val fieldsPerMessage: Property<Int>
+
+    /**
+     * The directory to place the generated files into.
+     */
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        val dir = outputDir.get().asFile
+        dir.deleteRecursively()
+        val corpus = SyntheticProtos(files.get(), messagesPerFile.get(), fieldsPerMessage.get())
+        corpus.writeTo(dir)
+        logger.info("Generated `{}` synthetic proto files in `{}`.", files.get(), dir)
+    }
+}
+
+/**
+ * A corpus of synthetic `.proto` files.
+ *
+ * @see GenerateSyntheticProtos
+ */
+class SyntheticProtos(
+    private val files: Int,
+    private val messagesPerFile: Int,
+    private val fieldsPerMessage: Int
+) {
+
+    init {
+        require(files > 0) { "The number of files must be positive." }
+        require(messagesPerFile > 0) { "The number of messages must be positive." }
+        require(fieldsPerMessage > 0) { "The number of fields must be positive." }
+    }
+
+    /**
+     * Writes the files of the corpus into the given directory.
+     */
+    fun writeTo(dir: File) {
+        for (index in 0 until files) {
+            val kind = Kind.values()[index % Kind.values().size]
+            val file = dir.resolve("$PACKAGE_DIR/f$index/${kind.fileName}.proto")
+            file.parentFile.mkdirs()
+            file.writeText(fileText(index, kind))
+        }
+    }
+
+    private fun fileText(index: Int, kind: Kind): String = buildString {
+        appendLine("syntax = \"proto3\";")
+        appendLine()
+        appendLine("package $PACKAGE.f$index;")
+        appendLine()
+        appendLine("import \"spine/options.proto\";")
+        appendLine()
+        appendLine("option (type_url_prefix) = \"type.spine.io\";")
+        val apiLevel = (index / Kind.values().size) % FILE_API_LEVELS.size
+        FILE_API_LEVELS[apiLevel]?.let {
+            appendLine("option ($it) = true;")
+        }
+        appendLine("option java_package = \"io.$PACKAGE.f$index\";")
+        if (kind != Kind.REJECTIONS) {
+            appendLine("option java_multiple_files = true;")
+        }
+        if (kind == Kind.MESSAGES) {
+            appendLine()
+            appendLine("message F${index}Id {")
+            appendLine("    string uuid = 1;")
+            appendLine("}")
+        }
+        for (number in 0 until messagesPerFile) {
+            appendLine()
+            appendMessage(kind, number)
+        }
+    }
+
+    private fun StringBuilder.appendMessage(kind: Kind, number: Int) {
+        appendLine("message ${kind.messagePrefix}$number {")
+        MESSAGE_API_LEVELS[number % MESSAGE_API_LEVELS.size]?.let {
+            appendLine("    option ($it) = true;")
+        }
+        if (kind == Kind.ENTITIES) {
+            val entityKind = ENTITY_KINDS[number % ENTITY_KINDS.size]
+            appendLine("    option (entity).kind = $entityKind;")
+        }
+        appendLine()
+        appendLine("    message Detail {")
+        appendLine("        string text = 1 [(required) = true];")
+        appendLine("    }")
+        appendLine()
+        appendLine("    string id = 1 [(required) = true];")
+        for (field in 2..fieldsPerMessage) {
+            appendLine("    ${field(field, kind == Kind.ENTITIES)}")
+        }
+        appendLine("}")
+    }
+
+    private fun field(number: Int, column: Boolean): String {
+        val columnOption = if (column) "(column) = true" else null
+        return when (number % 5) {
+            0 -> declare("string name_$number = $number", "(pattern).regex = \"^[a-z]*$\"",
+                         columnOption)
+            1 -> declare("repeated string tag_$number = $number", "(distinct) = true")
+            2 -> declare("int64 count_$number = $number", columnOption)
+            3 -> declare("Detail detail_$number = $number", "(validate) = true")
+            else -> declare("bool flag_$number = $number", columnOption)
+        }
+    }
+
+    private fun declare(declaration: String, vararg options: String?): String {
+        val present = options.filterNotNull()
+        return if (present.isEmpty()) {
+            "$declaration;"
+        } else {
+            "$declaration [${present.joinToString()}];"
+        }
+    }
+
+    /**
+     * The kinds of the generated files.
+     *
+     * The names of the files match the default conventions of the Model Compiler.
+     */
+    private enum class Kind(val fileName: String, val messagePrefix: String) {
+        COMMANDS("commands", "Command"),
+        EVENTS("events", "Event"),
+        REJECTIONS("rejections", "Rejection"),
+        ENTITIES("entities", "State"),
+        MESSAGES("messages", "Value")
+    }
+
+    private companion object {
+        const val PACKAGE = "spine.tools.synthetic"
+        const val PACKAGE_DIR = "spine/tools/synthetic"
+        val FILE_API_LEVELS = listOf(null, "internal_all", "SPI_all", "beta_all", "experimental_all")
+        val MESSAGE_API_LEVELS = listOf(null, "beta_type", "SPI_type", "experimental_type")
+        val ENTITY_KINDS = listOf("AGGREGATE", "PROJECTION", "PROCESS_MANAGER", "ENTITY")
+    }
+}
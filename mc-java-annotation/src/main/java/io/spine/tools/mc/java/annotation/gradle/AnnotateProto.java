@@ -0,0 +1,429 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.annotation.gradle;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import io.spine.code.java.ClassName;
+import io.spine.logging.Logging;
+import io.spine.tools.mc.java.annotation.mark.DefaultAnnotatorFactory;
+import io.spine.tools.mc.java.annotation.mark.ModuleAnnotator;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileType;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.io.Delete.deleteRecursively;
+import static io.spine.tools.gradle.ProtobufDependencies.sourceSetExtensionName;
+import static io.spine.tools.mc.java.annotation.mark.ApiOption.beta;
+import static io.spine.tools.mc.java.annotation.mark.ApiOption.experimental;
+import static io.spine.tools.mc.java.annotation.mark.ApiOption.internal;
+import static io.spine.tools.mc.java.annotation.mark.ApiOption.spi;
+import static io.spine.tools.mc.java.annotation.mark.ModuleAnnotator.translate;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
+import static org.gradle.api.tasks.PathSensitivity.RELATIVE;
+
+/**
+ * A task which annotates the Java code generated from {@code .proto} files.
+ *
+ * <p>The task does not modify the code produced by {@code protoc}. Instead, it writes annotated
+ * copies of the generated Java and gRPC sources into the {@linkplain #getOutputDir() output
+ * directory}, which serves as a source directory of the {@code compileJava} task.
+ *
+ * <p>The task is incremental. If only some of the proto files or generated sources changed
+ * since the previous run, only the sources affected by these changes are copied and annotated
+ * again. Changes in the annotation settings cause all the sources to be processed.
+ */
+@CacheableTask
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class AnnotateProto extends DefaultTask implements Logging {
+
+    /**
+     * The name of the file in the {@linkplain #getOutputDir() output directory} which stores
+     * fingerprints of the descriptor set entries processed by the previous run of the task.
+     */
+    private static final String STATE_FILE = "descriptors.properties";
+
+    private static final String JAVA = "java";
+    private static final String GRPC = "grpc";
+
+    /**
+     * The descriptor set file of the source set.
+     *
+     * <p>The collection is expected to contain only one file, which may be absent if
+     * the descriptor set generation is not enabled for the source set.
+     */
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getDescriptorSet();
+
+    /**
+     * The descriptor set with all the types known to the source set, including the types
+     * from the project dependencies.
+     *
+     * <p>The types are loaded into the known type registry before the annotation, so that
+     * the descriptors of the proto files of the source set could be built.
+     */
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getKnownTypes();
+
+    /**
+     * The directory with the Java code generated by {@code protoc}.
+     */
+    @Internal
+    public abstract DirectoryProperty getGeneratedJavaDir();
+
+    /**
+     * The directory with the gRPC code generated by {@code protoc}.
+     */
+    @Internal
+    public abstract DirectoryProperty getGeneratedGrpcDir();
+
+    /**
+     * The fully qualified name of the annotation for the SPI elements.
+     */
+    @Input
+    public abstract Property<String> getSpiAnnotation();
+
+    /**
+     * The fully qualified name of the annotation for the beta elements.
+     */
+    @Input
+    public abstract Property<String> getBetaAnnotation();
+
+    /**
+     * The fully qualified name of the annotation for the experimental elements.
+     */
+    @Input
+    public abstract Property<String> getExperimentalAnnotation();
+
+    /**
+     * The fully qualified name of the annotation for the internal elements.
+     */
+    @Input
+    public abstract Property<String> getInternalAnnotation();
+
+    /**
+     * The patterns of names of the classes to be annotated as internal.
+     */
+    @Input
+    public abstract SetProperty<String> getInternalClassPatterns();
+
+    /**
+     * The names of the methods to be annotated as internal.
+     */
+    @Input
+    public abstract SetProperty<String> getInternalMethodNames();
+
+    /**
+     * The directory to which the annotated sources are written.
+     *
+     * <p>The Java sources are placed under the {@code java} subdirectory, and the gRPC sources
+     * are placed under the {@code grpc} subdirectory.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    /**
+     * The build service which parses the descriptor set files.
+     */
+    @Internal
+    public abstract Property<DescriptorSetCache> getDescriptorSetCache();
+
+    /**
+     * Obtains the Java sources generated by {@code protoc}.
+     */
+    @InputFiles
+    @Incremental
+    @PathSensitive(RELATIVE)
+    @IgnoreEmptyDirectories
+    public FileTree getJavaSources() {
+        return getGeneratedJavaDir().getAsFileTree();
+    }
+
+    /**
+     * Obtains the gRPC sources generated by {@code protoc}.
+     */
+    @InputFiles
+    @Incremental
+    @PathSensitive(RELATIVE)
+    @IgnoreEmptyDirectories
+    public FileTree getGrpcSources() {
+        return getGeneratedGrpcDir().getAsFileTree();
+    }
+
+    @TaskAction
+    private void annotate(InputChanges changes) {
+        var descriptorSetFile = getDescriptorSet().getSingleFile();
+        var entries = descriptorSetFile.exists()
+                      ? DescriptorEntries.of(getDescriptorSetCache().get()
+                                                                .descriptorSet(descriptorSetFile))
+                      : DescriptorEntries.empty();
+        var stateFile = outputDir().resolve(STATE_FILE).toFile();
+        var staging = new Staging(getTemporaryDir().toPath());
+        if (changes.isIncremental()) {
+            var previous = DescriptorEntries.load(stateFile);
+            stageChanged(changes, staging);
+            stageSourcesOf(entries.changedSince(previous), staging);
+        } else {
+            deleteIfPresent(outputDir());
+            staging.addAll(JAVA, generatedJavaDir());
+            staging.addAll(GRPC, generatedGrpcDir());
+        }
+        if (!staging.isEmpty()) {
+            if (descriptorSetFile.exists()) {
+                _debug().log("Annotating %d generated source files.", staging.size());
+                annotate(descriptorSetFile, staging);
+            } else {
+                logMissing(descriptorSetFile);
+            }
+        }
+        staging.moveTo(outputDir());
+        entries.store(stateFile);
+    }
+
+    /**
+     * Stages the sources changed since the previous run and deletes the output copies
+     * of the removed sources.
+     */
+    private void stageChanged(InputChanges changes, Staging staging) {
+        stageChanged(changes, getJavaSources(), JAVA, generatedJavaDir(), staging);
+        stageChanged(changes, getGrpcSources(), GRPC, generatedGrpcDir(), staging);
+    }
+
+    private void stageChanged(InputChanges changes,
+                              FileTree sources,
+                              String kind,
+                              Path sourceRoot,
+                              Staging staging) {
+        var outputRoot = outputDir().resolve(kind);
+        for (var change : changes.getFileChanges(sources)) {
+            if (change.getFileType() == FileType.DIRECTORY) {
+                continue;
+            }
+            var relativePath = Path.of(change.getNormalizedPath());
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                deleteIfExists(outputRoot.resolve(relativePath));
+            } else {
+                staging.add(kind, sourceRoot, relativePath);
+            }
+        }
+    }
+
+    /**
+     * Stages the sources generated for the given proto files.
+     *
+     * <p>The sources are staged even if they did not change, since the annotations applied
+     * to them depend on the options declared in the proto files.
+     */
+    private void stageSourcesOf(Set<FileDescriptorProto> files, Staging staging) {
+        for (var file : files) {
+            GeneratedSources.javaSourcesOf(file)
+                            .forEach(path -> staging.add(JAVA, generatedJavaDir(), path));
+            GeneratedSources.grpcSourcesOf(file)
+                            .forEach(path -> staging.add(GRPC, generatedGrpcDir(), path));
+        }
+    }
+
+    /**
+     * Annotates the staged sources.
+     *
+     * <p>The annotators traverse all the proto files of the descriptor set, but rewrite only
+     * the sources present in the staging directory.
+     */
+    private void annotate(File descriptorSetFile, Staging staging) {
+        var cache = getDescriptorSetCache().get();
+        getKnownTypes().getFiles()
+                       .stream()
+                       .filter(File::exists)
+                       .forEach(cache::extendKnownTypes);
+        var factory = DefaultAnnotatorFactory.newInstance(
+                cache.knownFiles(descriptorSetFile), staging.root(JAVA), staging.root(GRPC)
+        );
+        var internalAnnotation = ClassName.of(getInternalAnnotation().get());
+        var annotator = ModuleAnnotator.newBuilder()
+                .setAnnotatorFactory(factory)
+                .add(translate(spi()).as(ClassName.of(getSpiAnnotation().get())))
+                .add(translate(beta()).as(ClassName.of(getBetaAnnotation().get())))
+                .add(translate(experimental())
+                             .as(ClassName.of(getExperimentalAnnotation().get())))
+                .add(translate(internal()).as(internalAnnotation))
+                .setInternalPatterns(ImmutableSet.copyOf(getInternalClassPatterns().get()))
+                .setInternalMethodNames(ImmutableSet.copyOf(getInternalMethodNames().get()))
+                .setInternalAnnotation(internalAnnotation)
+                .build();
+        annotator.annotate();
+    }
+
+    private Path outputDir() {
+        return getOutputDir().get().getAsFile().toPath();
+    }
+
+    private Path generatedJavaDir() {
+        return getGeneratedJavaDir().get().getAsFile().toPath();
+    }
+
+    private Path generatedGrpcDir() {
+        return getGeneratedGrpcDir().get().getAsFile().toPath();
+    }
+
+    private static void deleteIfExists(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static void deleteIfPresent(Path dir) {
+        if (Files.exists(dir)) {
+            deleteRecursively(dir);
+        }
+    }
+
+    private void logMissing(File descriptorSetFile) {
+        var nl = System.lineSeparator();
+        getLogger().warn(
+                "Missing descriptor set file `{}` required for annotating the code" +
+                        " generated from `{}` files." + nl +
+                        "Please enable descriptor set generation." + nl +
+                        "See: " +
+                        "https://github.com/google/protobuf-gradle-plugin/blob/master/README.md" +
+                        "#generate-descriptor-set-files",
+                descriptorSetFile.getPath(),
+                sourceSetExtensionName
+        );
+    }
+
+    /**
+     * A temporary directory with copies of the generated sources to be annotated.
+     */
+    private static final class Staging {
+
+        private final Path dir;
+        private int size;
+
+        private Staging(Path dir) {
+            deleteIfPresent(dir);
+            this.dir = dir;
+        }
+
+        private Path root(String kind) {
+            return dir.resolve(kind);
+        }
+
+        /**
+         * Copies the source with the given relative path, if it exists.
+         */
+        private void add(String kind, Path sourceRoot, Path relativePath) {
+            var source = sourceRoot.resolve(relativePath);
+            if (!Files.isRegularFile(source)) {
+                return;
+            }
+            var target = root(kind).resolve(relativePath);
+            try {
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target, REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+            size++;
+        }
+
+        /**
+         * Copies all the sources under the given root directory, if it exists.
+         */
+        private void addAll(String kind, Path sourceRoot) {
+            if (!Files.isDirectory(sourceRoot)) {
+                return;
+            }
+            relativeFiles(sourceRoot).forEach(path -> add(kind, sourceRoot, path));
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        /**
+         * Moves the staged files to the given directory, replacing the existing files.
+         */
+        private void moveTo(Path target) {
+            if (!Files.isDirectory(dir)) {
+                return;
+            }
+            for (var path : relativeFiles(dir)) {
+                var destination = target.resolve(path);
+                try {
+                    Files.createDirectories(destination.getParent());
+                    Files.move(dir.resolve(path), destination, REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw illegalStateWithCauseOf(e);
+                }
+            }
+        }
+
+        private static ImmutableSet<Path> relativeFiles(Path root) {
+            try (var files = Files.walk(root)) {
+                return files.filter(Files::isRegularFile)
+                            .map(root::relativize)
+                            .collect(toImmutableSet());
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+    }
+}
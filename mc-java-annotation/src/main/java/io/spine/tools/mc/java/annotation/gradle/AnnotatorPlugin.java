@@ -26,17 +26,36 @@
 
 package io.spine.tools.mc.java.annotation.gradle;
 
+import com.google.common.collect.ImmutableSet;
 import io.spine.tools.code.SourceSetName;
-import io.spine.tools.gradle.task.GradleTask;
-import org.gradle.api.Action;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.compile.JavaCompile;
 
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.tools.gradle.project.Projects.descriptorSetFile;
 import static io.spine.tools.gradle.project.Projects.getSourceSetNames;
+import static io.spine.tools.gradle.project.Projects.getSourceSets;
 import static io.spine.tools.gradle.task.JavaTaskName.compileJava;
+import static io.spine.tools.mc.java.gradle.McJavaOptions.getCodeGenAnnotations;
+import static io.spine.tools.mc.java.gradle.McJavaOptions.getInternalClassPatterns;
+import static io.spine.tools.mc.java.gradle.McJavaOptions.getInternalMethodNames;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.annotateProto;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.mergeDescriptorSet;
+import static io.spine.tools.mc.java.gradle.Projects.annotatedDir;
+import static io.spine.tools.mc.java.gradle.Projects.completeJavaDir;
+import static io.spine.tools.mc.java.gradle.Projects.generatedGrpcDir;
+import static io.spine.tools.mc.java.gradle.Projects.generatedJavaDir;
+import static io.spine.tools.mc.java.gradle.Projects.inProcessJavaDir;
+import static io.spine.tools.mc.java.gradle.Projects.mergedDescriptorSetFile;
+import static io.spine.tools.mc.java.gradle.Projects.removeJavaSrcDirs;
 
 /**
  * A plugin that annotates generated Java sources from {@code .proto} files.
@@ -164,6 +183,12 @@ import static io.spine.tools.mc.java.gradle.McJavaTaskName.mergeDescriptorSet;
  * }}</pre>
  *
  * <p>If {@code java_multiple_files = true} result of annotation will be similar.
+ *
+ * <p>The code generated by {@code protoc} is not modified. The {@link AnnotateProto} task
+ * writes the annotated copies of the generated sources into a separate directory, which
+ * replaces the generated code directories among the Java sources of the source set. Thus,
+ * the {@code compileJava}, {@code javadoc}, and {@code sourcesJar} tasks all see the annotated
+ * code.
  */
 public final class AnnotatorPlugin implements Plugin<Project> {
 
@@ -173,11 +198,102 @@ public final class AnnotatorPlugin implements Plugin<Project> {
     }
 
     private static void createTask(Project project, SourceSetName ssn) {
-        Action<Task> action = new AnnotationAction(ssn);
-        GradleTask.newBuilder(annotateProto(ssn), action)
-                .insertAfterTask(mergeDescriptorSet(ssn))
-                .insertBeforeTask(compileJava(ssn))
-                .applyNowTo(project);
+        var tasks = project.getTasks();
+        var task = tasks.register(annotateProto(ssn).name(), AnnotateProto.class,
+                                  t -> configure(t, project, ssn));
+        var outputDir = task.flatMap(AnnotateProto::getOutputDir);
+        tasks.named(compileJava(ssn).name(), JavaCompile.class).configure(compileTask -> {
+            compileTask.dependsOn(task);
+            compileTask.setSource(sourcesToCompile(project, ssn, outputDir));
+        });
+        project.afterEvaluate(p -> replaceGeneratedSrcDirs(p, ssn, outputDir));
     }
-}
 
+    /**
+     * Replaces the directories of the generated code among the Java sources of the source set
+     * with the directories of the annotated code.
+     *
+     * <p>The source directories are replaced after the project is evaluated, when the build
+     * script has added the generated code directories to the source set.
+     */
+    private static void replaceGeneratedSrcDirs(Project project,
+                                                SourceSetName ssn,
+                                                Provider<Directory> annotatedDir) {
+        var generated = ImmutableSet.of(generatedJavaDir(project, ssn),
+                                        inProcessJavaDir(project, ssn),
+                                        generatedGrpcDir(project, ssn));
+        removeJavaSrcDirs(project, ssn, generated);
+        getSourceSets(project)
+                .getByName(ssn.getValue())
+                .getJava()
+                .srcDir(annotatedDir.map(dir -> dir.dir("java")))
+                .srcDir(annotatedDir.map(dir -> dir.dir("grpc")));
+    }
+
+    private static void configure(AnnotateProto task, Project project, SourceSetName ssn) {
+        task.dependsOn(mergeDescriptorSet(ssn).name());
+        task.getDescriptorSet()
+            .from(project.provider(() -> descriptorSetFile(project, ssn)));
+        task.getKnownTypes()
+            .from(project.provider(() -> mergedDescriptorSetFile(project, ssn).toFile()));
+        task.getGeneratedJavaDir()
+            .fileProvider(project.provider(() -> completeJavaDir(project, ssn).toFile()));
+        task.getGeneratedGrpcDir()
+            .fileProvider(project.provider(() -> generatedGrpcDir(project, ssn).toFile()));
+        task.getSpiAnnotation()
+            .set(project.provider(() -> getCodeGenAnnotations(project).spi));
+        task.getBetaAnnotation()
+            .set(project.provider(() -> getCodeGenAnnotations(project).beta));
+        task.getExperimentalAnnotation()
+            .set(project.provider(() -> getCodeGenAnnotations(project).experimental));
+        task.getInternalAnnotation()
+            .set(project.provider(() -> getCodeGenAnnotations(project).internal));
+        task.getInternalClassPatterns()
+            .set(project.provider(() -> getInternalClassPatterns(project)));
+        task.getInternalMethodNames()
+            .set(project.provider(() -> getInternalMethodNames(project)));
+        task.getOutputDir()
+            .set(annotatedDir(project, ssn).toFile());
+        var cache = DescriptorSetCache.registerIn(project.getGradle());
+        task.getDescriptorSetCache()
+            .set(cache);
+        task.usesService(cache);
+    }
+
+    /**
+     * Obtains the Java sources of the source set in which the code generated by {@code protoc}
+     * is replaced with its annotated copy placed in the given directory.
+     *
+     * <p>The source set already lists the annotated code instead of the generated one.
+     * The filtering guards the compilation against the generated code directories added to
+     * the source set later, e.g. by other plugins.
+     */
+    private static FileTree
+    sourcesToCompile(Project project, SourceSetName ssn, Provider<Directory> annotatedDir) {
+        var javaSources = getSourceSets(project)
+                .getByName(ssn.getValue())
+                .getJava();
+        Callable<Object> nonGenerated = () -> {
+            var annotated = annotatedDir.get().getAsFile().toPath();
+            var replaced = ImmutableSet.of(normalized(generatedJavaDir(project, ssn)),
+                                           normalized(inProcessJavaDir(project, ssn)),
+                                           normalized(generatedGrpcDir(project, ssn)),
+                                           normalized(annotated.resolve("java")),
+                                           normalized(annotated.resolve("grpc")));
+            return javaSources.getSrcDirs()
+                              .stream()
+                              .filter(dir -> !replaced.contains(normalized(dir.toPath())))
+                              .collect(toImmutableSet());
+        };
+        var dirs = project.files(nonGenerated,
+                                 annotatedDir.map(dir -> dir.dir("java")),
+                                 annotatedDir.map(dir -> dir.dir("grpc")));
+        return dirs.getAsFileTree()
+                   .matching(javaSources.getFilter());
+    }
+
+    private static Path normalized(Path path) {
+        return path.toAbsolutePath()
+                   .normalize();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.annotation.gradle;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Fingerprints of the entries of a descriptor set file.
+ *
+ * <p>Each {@code FileDescriptorProto} of a set is identified by its name and fingerprinted
+ * by the hash of its serialized form. Comparing the fingerprints taken by two subsequent
+ * runs of {@link AnnotateProto} tells which proto files have changed since the previous run.
+ */
+final class DescriptorEntries {
+
+    private static final DescriptorEntries EMPTY =
+            new DescriptorEntries(ImmutableMap.of(), ImmutableMap.of());
+
+    /** Hashes of the serialized entries by the names of the proto files. */
+    private final ImmutableMap<String, String> hashes;
+
+    /**
+     * The entries of the descriptor set by the names of the proto files.
+     *
+     * <p>Is empty for the fingerprints {@linkplain #load(File) loaded} from a file.
+     */
+    private final ImmutableMap<String, FileDescriptorProto> files;
+
+    private DescriptorEntries(ImmutableMap<String, String> hashes,
+                              ImmutableMap<String, FileDescriptorProto> files) {
+        this.hashes = hashes;
+        this.files = files;
+    }
+
+    /**
+     * Obtains fingerprints of no entries.
+     */
+    static DescriptorEntries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Reads the entries of the given descriptor set file and fingerprints them.
+     */
+    static DescriptorEntries of(File descriptorSetFile) {
+        checkNotNull(descriptorSetFile);
+        FileDescriptorSet descriptorSet;
+        try {
+            var bytes = Files.readAllBytes(descriptorSetFile.toPath());
+            descriptorSet = FileDescriptorSet.parseFrom(bytes);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return of(descriptorSet);
+    }
+
+    /**
+     * Fingerprints the entries of the given descriptor set.
+     */
+    static DescriptorEntries of(FileDescriptorSet descriptorSet) {
+        checkNotNull(descriptorSet);
+        var hashes = ImmutableMap.<String, String>builder();
+        var files = ImmutableMap.<String, FileDescriptorProto>builder();
+        for (var file : descriptorSet.getFileList()) {
+            var name = file.getName();
+            var hash = Hashing.sha256()
+                              .hashBytes(file.toByteArray())
+                              .toString();
+            hashes.put(name, hash);
+            files.put(name, file);
+        }
+        return new DescriptorEntries(hashes.buildKeepingLast(), files.buildKeepingLast());
+    }
+
+    /**
+     * Loads the fingerprints previously {@linkplain #store(File) stored} in the given file.
+     *
+     * <p>If the file does not exist, returns {@linkplain #empty() empty} fingerprints.
+     */
+    static DescriptorEntries load(File stateFile) {
+        checkNotNull(stateFile);
+        if (!stateFile.exists()) {
+            return empty();
+        }
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(stateFile.toPath())) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        var hashes = ImmutableMap.<String, String>builder();
+        properties.stringPropertyNames()
+                  .forEach(name -> hashes.put(name, properties.getProperty(name)));
+        return new DescriptorEntries(hashes.build(), ImmutableMap.of());
+    }
+
+    /**
+     * Stores the fingerprints into the given file.
+     */
+    void store(File stateFile) {
+        checkNotNull(stateFile);
+        var properties = new Properties();
+        properties.putAll(hashes);
+        try {
+            Files.createDirectories(stateFile.toPath().getParent());
+            try (var writer = Files.newBufferedWriter(stateFile.toPath())) {
+                properties.store(writer, null);
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Obtains the entries which were added or modified since the {@code previous} fingerprints
+     * were taken.
+     */
+    ImmutableSet<FileDescriptorProto> changedSince(DescriptorEntries previous) {
+        checkNotNull(previous);
+        return files.keySet()
+                    .stream()
+                    .filter(name -> !hashes.get(name).equals(previous.hashes.get(name)))
+                    .map(files::get)
+                    .collect(toImmutableSet());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.annotation.gradle;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import io.spine.tools.java.fs.SourceFile;
+
+import java.nio.file.Path;
+
+import static io.spine.tools.java.fs.SourceFile.forEnum;
+import static io.spine.tools.java.fs.SourceFile.forMessage;
+import static io.spine.tools.java.fs.SourceFile.forMessageOrBuilder;
+import static io.spine.tools.java.fs.SourceFile.forOuterClassOf;
+import static io.spine.tools.java.fs.SourceFile.forService;
+
+/**
+ * Utilities for obtaining the sources which {@code protoc} may generate for a proto file.
+ *
+ * <p>The paths are relative to the root of the generated code directory. Some of the obtained
+ * paths may not exist, e.g. message classes of a file which does not declare
+ * the {@code java_multiple_files} option. Callers are expected to skip such paths.
+ */
+final class GeneratedSources {
+
+    /** Prevents the utility class instantiation. */
+    private GeneratedSources() {
+    }
+
+    /**
+     * Obtains the paths of the Java sources which may be generated for the given file.
+     */
+    static ImmutableSet<Path> javaSourcesOf(FileDescriptorProto file) {
+        var result = ImmutableSet.<Path>builder();
+        result.add(forOuterClassOf(file).path());
+        for (var message : file.getMessageTypeList()) {
+            result.add(forMessage(message, file).path());
+            result.add(forMessageOrBuilder(message, file).path());
+        }
+        for (var enumType : file.getEnumTypeList()) {
+            result.add(forEnum(enumType, file).path());
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the paths of the gRPC sources which may be generated for the given file.
+     */
+    static ImmutableSet<Path> grpcSourcesOf(FileDescriptorProto file) {
+        return file.getServiceList()
+                   .stream()
+                   .map(service -> forService(service, file))
+                   .map(SourceFile::path)
+                   .collect(ImmutableSet.toImmutableSet());
+    }
+}
@@ -77,6 +77,16 @@ public final class DefaultAnnotatorFactory implements AnnotatorFactory {
                                                Path generatedProtoDir,
                                                Path generatedGrpcDir) {
         var files = FileSet.parseAsKnownFiles(descriptorSetFile);
+        return newInstance(files, generatedProtoDir, generatedGrpcDir);
+    }
+
+    /**
+     * Creates a new factory for the given already parsed proto files.
+     */
+    public static AnnotatorFactory newInstance(FileSet files,
+                                               Path generatedProtoDir,
+                                               Path generatedGrpcDir) {
+        checkNotNull(files);
         return new DefaultAnnotatorFactory(files.files(), generatedProtoDir, generatedGrpcDir);
     }
 
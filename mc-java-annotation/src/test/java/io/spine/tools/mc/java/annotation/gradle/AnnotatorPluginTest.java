@@ -56,7 +56,6 @@ import java.nio.file.Path;
 
 import static com.google.common.base.Preconditions.checkState;
 import static io.spine.code.proto.FileDescriptors.DESC_EXTENSION;
-import static io.spine.tools.code.SourceSetName.main;
 import static io.spine.tools.gradle.task.JavaTaskName.compileJava;
 import static io.spine.tools.java.fs.SourceFile.forMessage;
 import static io.spine.tools.java.fs.SourceFile.forOuterClassOf;
@@ -269,11 +268,8 @@ class AnnotatorPluginTest {
     }
 
     private static void check(Path sourcePath, SourceCheck check) throws IOException {
-        var filePath = DefaultJavaPaths.at(moduleDir)
-                                       .generatedProto()
-                                       .java(main)
-                                       .path()
-                                       .resolve(sourcePath);
+        var filePath = annotatedDir().resolve("java")
+                                     .resolve(sourcePath);
         @SuppressWarnings("unchecked")
         AbstractJavaSource<JavaClassSource> javaSource =
                 Roaster.parse(AbstractJavaSource.class, filePath.toFile());
@@ -282,11 +278,8 @@ class AnnotatorPluginTest {
 
     private static void checkGrpcService(SourceFile serviceFile, SourceCheck check)
             throws IOException {
-        var filePath = DefaultJavaPaths.at(moduleDir)
-                                       .generatedProto()
-                                       .grpc(main)
-                                       .path()
-                                       .resolve(serviceFile.path());
+        var filePath = annotatedDir().resolve("grpc")
+                                     .resolve(serviceFile.path());
         @SuppressWarnings("unchecked")
         AbstractJavaSource<JavaClassSource> javaSource =
                 Roaster.parse(AbstractJavaSource.class, filePath.toFile());
@@ -302,6 +295,16 @@ class AnnotatorPluginTest {
         return result;
     }
 
+    /**
+     * Obtains the directory with the sources annotated by the {@code annotateProto} task.
+     */
+    private static Path annotatedDir() {
+        return moduleDir.toPath()
+                        .resolve("build")
+                        .resolve("annotated")
+                        .resolve(MAIN_SOURCE_SET_NAME);
+    }
+
     /**
      * Compose the path to the main descriptor set file using the project Maven coordinates
      * as defined in the test project under {@code resources/annotator-plugin-test}.
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.annotation.gradle;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`DescriptorEntries` should")
+class DescriptorEntriesTest {
+
+    private static final FileDescriptorProto FIRST = file("first.proto", "First");
+    private static final FileDescriptorProto SECOND = file("second.proto", "Second");
+
+    @Test
+    @DisplayName("treat all entries as changed if there are no previous fingerprints")
+    void allChanged(@TempDir Path dir) throws IOException {
+        var entries = DescriptorEntries.of(descriptorSet(dir, FIRST, SECOND));
+        assertThat(entries.changedSince(DescriptorEntries.empty()))
+                .containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    @DisplayName("tell modified entries after storing and loading fingerprints")
+    void modified(@TempDir Path dir) throws IOException {
+        var stateFile = dir.resolve("state.properties").toFile();
+        DescriptorEntries.of(descriptorSet(dir, FIRST, SECOND))
+                         .store(stateFile);
+        var modified = file("second.proto", "Modified");
+        var entries = DescriptorEntries.of(descriptorSet(dir, FIRST, modified));
+
+        var previous = DescriptorEntries.load(stateFile);
+        assertThat(entries.changedSince(previous))
+                .containsExactly(modified);
+    }
+
+    @Test
+    @DisplayName("load empty fingerprints from a missing file")
+    void missingFile(@TempDir Path dir) throws IOException {
+        var entries = DescriptorEntries.of(descriptorSet(dir, FIRST));
+        var previous = DescriptorEntries.load(dir.resolve("missing").toFile());
+        assertThat(entries.changedSince(previous))
+                .containsExactly(FIRST);
+    }
+
+    private static FileDescriptorProto file(String name, String messageName) {
+        return FileDescriptorProto.newBuilder()
+                .setName(name)
+                .addMessageType(DescriptorProto.newBuilder().setName(messageName))
+                .build();
+    }
+
+    private static File descriptorSet(Path dir, FileDescriptorProto... files)
+            throws IOException {
+        var descriptorSet = FileDescriptorSet.newBuilder();
+        for (var file : files) {
+            descriptorSet.addFile(file);
+        }
+        var result = dir.resolve("known_types.desc");
+        Files.write(result, descriptorSet.build().toByteArray());
+        return result.toFile();
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle;
+
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.code.proto.FileSet;
+import io.spine.tools.type.MoreKnownTypes;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A build service which parses descriptor set files once per build and shares the results
+ * between the tasks of all the projects.
+ *
+ * <p>A descriptor set file is identified by its absolute path and the hash of its content.
+ * If a task modifies a descriptor set file during the build, the next request for the file
+ * parses the new content.
+ *
+ * <p>The number of the parsed descriptor sets kept in memory is limited by
+ * the {@linkplain Parameters#getMaxCachedFiles() parameter} of the service. The parsed values
+ * are also softly referenced, so that they may be collected if the build runs out of memory.
+ *
+ * <p>Tasks using the service should declare it via {@link org.gradle.api.Task#usesService}.
+ */
+@SuppressWarnings("AbstractClassNeverImplemented") // Gradle creates a subtype for this class.
+public abstract class DescriptorSetCache
+        implements BuildService<DescriptorSetCache.Parameters>, AutoCloseable {
+
+    private static final FluentLogger log = FluentLogger.forEnclosingClass();
+
+    /**
+     * The name under which the service is registered in the build.
+     */
+    private static final String NAME = "spineDescriptorSetCache";
+
+    /**
+     * The default number of the parsed descriptor set files kept in memory.
+     */
+    private static final int DEFAULT_MAX_CACHED_FILES = 256;
+
+    private final Cache<String, Parsed> parsed;
+    private final Set<String> knownTypeSets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new instance of the service.
+     *
+     * <p>Gradle creates the service via {@link #registerIn(Gradle)}.
+     */
+    public DescriptorSetCache() {
+        long maxSize = getParameters().getMaxCachedFiles()
+                                      .getOrElse(DEFAULT_MAX_CACHED_FILES);
+        this.parsed = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .softValues()
+                .build();
+    }
+
+    /**
+     * Registers the service in the given build, if it is not registered yet.
+     *
+     * @return the provider of the service to be passed to the tasks using it
+     */
+    public static Provider<DescriptorSetCache> registerIn(Gradle gradle) {
+        checkNotNull(gradle);
+        return gradle.getSharedServices().registerIfAbsent(
+                NAME, DescriptorSetCache.class,
+                spec -> spec.getParameters()
+                            .getMaxCachedFiles()
+                            .convention(DEFAULT_MAX_CACHED_FILES)
+        );
+    }
+
+    /**
+     * Obtains the descriptor set stored in the given file.
+     */
+    public FileDescriptorSet descriptorSet(File file) {
+        return parse(file).descriptorSet;
+    }
+
+    /**
+     * Obtains the proto files declared in the given descriptor set file, as they are known
+     * to the {@linkplain MoreKnownTypes known type registry}.
+     *
+     * <p>Callers should {@linkplain #extendKnownTypes(File) extend} the known types with
+     * the dependencies of the descriptor set before calling this method.
+     *
+     * @see FileSet#parseAsKnownFiles(File)
+     */
+    public FileSet knownFiles(File file) {
+        return parse(file).knownFiles.get();
+    }
+
+    /**
+     * Extends the known type registry with the types from the given descriptor set file.
+     *
+     * <p>Each version of the file is added to the registry only once per build.
+     *
+     * <p>The registry is extended under the lock on {@code MoreKnownTypes}, as tasks using
+     * this cache may run in parallel with each other and with the in-process code generation.
+     */
+    public void extendKnownTypes(File file) {
+        var key = keyOf(file, read(file));
+        if (knownTypeSets.add(key)) {
+            synchronized (MoreKnownTypes.class) {
+                MoreKnownTypes.extendWith(file);
+            }
+        } else {
+            log.atFine()
+               .log("The types from `%s` are already known.", file);
+        }
+    }
+
+    private Parsed parse(File file) {
+        checkNotNull(file);
+        var bytes = read(file);
+        var key = keyOf(file, bytes);
+        try {
+            return parsed.get(key, () -> new Parsed(file, bytes));
+        } catch (ExecutionException e) {
+            throw newIllegalStateException(
+                    e.getCause(), "Unable to parse the descriptor set file `%s`.", file
+            );
+        }
+    }
+
+    private static byte[] read(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read the descriptor set file `%s`.", file
+            );
+        }
+    }
+
+    private static String keyOf(File file, byte[] content) {
+        var hash = Hashing.sha256()
+                          .hashBytes(content);
+        return file.getAbsolutePath() + '@' + hash;
+    }
+
+    @Override
+    public void close() {
+        parsed.invalidateAll();
+        knownTypeSets.clear();
+    }
+
+    /**
+     * The parameters of the {@link DescriptorSetCache}.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The maximum number of the parsed descriptor set files kept in memory.
+         */
+        Property<Integer> getMaxCachedFiles();
+    }
+
+    /**
+     * A parsed descriptor set file.
+     */
+    private static final class Parsed {
+
+        private final FileDescriptorSet descriptorSet;
+        private final Supplier<FileSet> knownFiles;
+
+        private Parsed(File file, byte[] content) throws InvalidProtocolBufferException {
+            this.descriptorSet = FileDescriptorSet.parseFrom(content);
+            this.knownFiles = Suppliers.memoize(() -> FileSet.parseAsKnownFiles(file));
+        }
+    }
+}
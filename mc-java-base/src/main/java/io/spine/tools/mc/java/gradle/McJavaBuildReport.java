@@ -0,0 +1,482 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle;
+
+import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.task.TaskFailureResult;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationResult;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A build service which collects the performance measurements of the {@code mc-java} tasks
+ * in all the projects of the build.
+ *
+ * <p>The report is opt-in. It is enabled by setting the Gradle property
+ * {@code io.spine.tools.mc.java.buildReport} to {@code true}, e.g.:
+ * <pre>
+ *     ./gradlew build -Pio.spine.tools.mc.java.buildReport=true
+ * </pre>
+ *
+ * <p>For each task, the report contains the time spent by the task, its outcome, and,
+ * for the executed tasks, the number and the total size of the files in the task outputs.
+ * The report also includes the measurements written by the Protobuf compiler plugin,
+ * the instrumentation of which is turned on together with the report.
+ *
+ * <p>When the build finishes, the service writes the report in the JSON format along with
+ * a human-readable summary to the {@code build/reports/mc-java} directory of the root project.
+ * The summary lists the slowest projects and tasks and is also printed to the build log.
+ */
+@SuppressWarnings("AbstractClassNeverImplemented") // Gradle creates a subtype for this class.
+public abstract class McJavaBuildReport
+        implements BuildService<McJavaBuildReport.Parameters>,
+                   OperationCompletionListener,
+                   AutoCloseable {
+
+    /**
+     * The name of the Gradle property which turns on the report.
+     */
+    public static final String BUILD_REPORT_PROPERTY = "io.spine.tools.mc.java.buildReport";
+
+    /**
+     * The name under which the service is registered in the build.
+     */
+    private static final String NAME = "spineMcJavaBuildReport";
+
+    /**
+     * The number of the slowest projects and tasks listed in the summary.
+     */
+    private static final int SLOWEST_COUNT = 10;
+
+    /**
+     * The patterns of the names of the reported tasks, by the kind of the task.
+     *
+     * <p>The patterns match the tasks of all the source sets.
+     */
+    private static final ImmutableMap<String, Pattern> TASK_KINDS =
+            ImmutableMap.<String, Pattern>builder()
+                    .put("preClean", Pattern.compile("preClean"))
+                    .put("mergeDescriptorSet", Pattern.compile("merge\\w*DescriptorSet"))
+                    .put("writePluginConfiguration",
+                         Pattern.compile("write\\w*PluginConfiguration"))
+                    .put("writeDescriptorReferences",
+                         Pattern.compile("write\\w*DescriptorReferences"))
+                    .put("generateRejections", Pattern.compile("generate\\w*Rejections"))
+                    .put("generateProto", Pattern.compile("generate\\w*Proto"))
+                    .put("runProtocPlugin", Pattern.compile("run\\w*ProtocPlugin"))
+                    .put("annotateProto", Pattern.compile("annotate\\w*Proto"))
+                    .build();
+
+    private final Map<String, TaskRecord> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * Checks if the report is turned on for the build of the given project.
+     */
+    public static boolean enabledFor(Project project) {
+        var property = project.getProviders()
+                              .gradleProperty(BUILD_REPORT_PROPERTY)
+                              .getOrElse("false");
+        return Boolean.parseBoolean(property);
+    }
+
+    /**
+     * Registers the service in the given build, if it is not registered yet.
+     *
+     * @return the provider of the service to be passed to the tasks using it
+     */
+    public static Provider<McJavaBuildReport> registerIn(Gradle gradle) {
+        checkNotNull(gradle);
+        var rootProject = gradle.getRootProject();
+        return gradle.getSharedServices().registerIfAbsent(
+                NAME, McJavaBuildReport.class,
+                spec -> spec.getParameters()
+                            .getReportDir()
+                            .set(rootProject.getLayout()
+                                            .getBuildDirectory()
+                                            .dir("reports/mc-java"))
+        );
+    }
+
+    /**
+     * Starts collecting the measurements of the {@code mc-java} tasks of the given project.
+     *
+     * <p>The service listens to the completion of the tasks, so that it is notified about
+     * the tasks which are up-to-date or taken from the build cache. The executed tasks also
+     * report the sizes of their outputs.
+     *
+     * @param project
+     *         the project to measure
+     * @param listeners
+     *         the registry of the build event listeners injected by Gradle
+     */
+    public static void track(Project project, BuildEventsListenerRegistry listeners) {
+        checkNotNull(project);
+        checkNotNull(listeners);
+        var report = registerIn(project.getGradle());
+        // Registering the same listener for several projects is harmless, as
+        // the measurements are keyed by the task path.
+        listeners.onTaskCompletion(report);
+        project.getTasks()
+               .matching(task -> kindOf(task.getName()) != null)
+               .configureEach(task -> {
+                   task.usesService(report);
+                   task.doLast(new RecordOutputs(report));
+               });
+    }
+
+    /**
+     * Obtains the kind of the task with the given name, or {@code null} if the task
+     * is not reported.
+     */
+    private static @Nullable String kindOf(String taskName) {
+        for (var kind : TASK_KINDS.entrySet()) {
+            if (kind.getValue().matcher(taskName).matches()) {
+                return kind.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onFinish(FinishEvent event) {
+        if (!(event instanceof TaskFinishEvent)) {
+            return;
+        }
+        var path = ((TaskFinishEvent) event).getDescriptor().getTaskPath();
+        var kind = kindOf(path.substring(path.lastIndexOf(':') + 1));
+        if (kind != null) {
+            record(path, kind).finished(event.getResult());
+        }
+    }
+
+    /**
+     * Records the number and the total size of the files produced by the task with
+     * the given path.
+     */
+    public void recordOutputs(String taskPath, Iterable<File> outputs) {
+        checkNotNull(taskPath);
+        checkNotNull(outputs);
+        var kind = kindOf(taskPath.substring(taskPath.lastIndexOf(':') + 1));
+        if (kind == null) {
+            return;
+        }
+        long files = 0;
+        long bytes = 0;
+        for (var output : outputs) {
+            var counted = count(output.toPath());
+            files += counted[0];
+            bytes += counted[1];
+        }
+        record(taskPath, kind).outputs(files, bytes);
+    }
+
+    /**
+     * Attaches the JSON performance report written by the Protobuf compiler plugin
+     * during the execution of the task with the given path.
+     */
+    public void attachProtocReport(String taskPath, File reportFile) {
+        checkNotNull(taskPath);
+        checkNotNull(reportFile);
+        if (!reportFile.exists()) {
+            return;
+        }
+        var kind = kindOf(taskPath.substring(taskPath.lastIndexOf(':') + 1));
+        if (kind == null) {
+            return;
+        }
+        try {
+            var content = Files.readString(reportFile.toPath(), UTF_8).trim();
+            record(taskPath, kind).protocReport(content);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read the performance report `%s`.", reportFile
+            );
+        }
+    }
+
+    private TaskRecord record(String taskPath, String kind) {
+        return tasks.computeIfAbsent(taskPath, path -> new TaskRecord(path, kind));
+    }
+
+    private static long[] count(Path output) {
+        if (!Files.exists(output)) {
+            return new long[]{0, 0};
+        }
+        try (var files = Files.walk(output)) {
+            var counted = new long[2];
+            files.filter(Files::isRegularFile)
+                 .forEach(file -> {
+                     counted[0]++;
+                     counted[1] += file.toFile().length();
+                 });
+            return counted;
+        } catch (IOException | UncheckedIOException e) {
+            throw newIllegalStateException(e, "Unable to measure the task output `%s`.", output);
+        }
+    }
+
+    /**
+     * Writes the report and prints the summary, if any task was measured.
+     */
+    @Override
+    public void close() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        var records = tasks.values()
+                           .stream()
+                           .sorted(Comparator.comparingLong(TaskRecord::millis)
+                                             .reversed()
+                                             .thenComparing(TaskRecord::path))
+                           .collect(toList());
+        var reportDir = getParameters().getReportDir()
+                                       .get()
+                                       .getAsFile()
+                                       .toPath();
+        var summary = summary(records);
+        write(reportDir.resolve("mc-java-build-report.json"), toJson(records));
+        write(reportDir.resolve("mc-java-build-report.txt"), summary);
+        Logger logger = Logging.getLogger(McJavaBuildReport.class);
+        logger.lifecycle(summary);
+        logger.lifecycle("The mc-java build report is written to `{}`.", reportDir);
+        tasks.clear();
+    }
+
+    private static Map<String, Long> millisByProject(List<TaskRecord> records) {
+        Map<String, Long> result = new TreeMap<>();
+        for (var record : records) {
+            result.merge(record.project(), record.millis(), Long::sum);
+        }
+        return result;
+    }
+
+    private static String summary(List<TaskRecord> records) {
+        var total = records.stream()
+                           .mapToLong(TaskRecord::millis)
+                           .sum();
+        var summary = new StringBuilder(1024);
+        summary.append(String.format(
+                "mc-java tasks took %d ms in total (%d tasks).%n", total, records.size()));
+        summary.append(String.format("%nThe slowest projects:%n"));
+        millisByProject(records).entrySet()
+                                .stream()
+                                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                                .limit(SLOWEST_COUNT)
+                                .forEach(e -> summary.append(String.format(
+                                        "  %8d ms  %s%n", e.getValue(), e.getKey())));
+        summary.append(String.format("%nThe slowest tasks:%n"));
+        records.stream()
+               .limit(SLOWEST_COUNT)
+               .forEach(r -> summary.append(String.format(
+                       "  %8d ms  %s (%s, %d files, %d bytes)%n",
+                       r.millis(), r.path(), r.outcome, r.files, r.bytes)));
+        return summary.toString();
+    }
+
+    private static String toJson(List<TaskRecord> records) {
+        var json = new StringBuilder(4096);
+        json.append("{\n  \"projects\": [");
+        var first = true;
+        for (var project : millisByProject(records).entrySet()) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"path\": ").append(quoted(project.getKey()))
+                .append(", \"wallTimeMillis\": ").append(project.getValue())
+                .append('}');
+        }
+        json.append(first ? "],\n" : "\n  ],\n");
+        json.append("  \"tasks\": [");
+        first = true;
+        for (var record : records) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            record.appendTo(json);
+        }
+        json.append(first ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String quoted(String value) {
+        var escaped = value.replace("\\", "\\\\")
+                           .replace("\"", "\\\"");
+        return '"' + escaped + '"';
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content, UTF_8);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the mc-java build report to `%s`.", file
+            );
+        }
+    }
+
+    /**
+     * The parameters of the {@link McJavaBuildReport}.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The directory to write the report to.
+         */
+        DirectoryProperty getReportDir();
+    }
+
+    /**
+     * Makes the executed task report the sizes of its outputs.
+     *
+     * <p>Holds only the provider of the service, so that the action is compatible with
+     * the Gradle configuration cache.
+     */
+    private static final class RecordOutputs implements Action<Task> {
+
+        private final Provider<McJavaBuildReport> report;
+
+        private RecordOutputs(Provider<McJavaBuildReport> report) {
+            this.report = report;
+        }
+
+        @Override
+        public void execute(Task task) {
+            report.get()
+                  .recordOutputs(task.getPath(), task.getOutputs().getFiles());
+        }
+    }
+
+    /**
+     * The measurements of one task.
+     */
+    private static final class TaskRecord {
+
+        private final String path;
+        private final String kind;
+        private long millis;
+        private String outcome = "unknown";
+        private long files;
+        private long bytes;
+        private @Nullable String protocReport;
+
+        private TaskRecord(String path, String kind) {
+            this.path = path;
+            this.kind = kind;
+        }
+
+        private String path() {
+            return path;
+        }
+
+        private String project() {
+            var separator = path.lastIndexOf(':');
+            return separator > 0 ? path.substring(0, separator) : ":";
+        }
+
+        private synchronized long millis() {
+            return millis;
+        }
+
+        private synchronized void finished(TaskOperationResult result) {
+            millis = result.getEndTime() - result.getStartTime();
+            outcome = outcomeOf(result);
+        }
+
+        private synchronized void outputs(long files, long bytes) {
+            this.files = files;
+            this.bytes = bytes;
+        }
+
+        private synchronized void protocReport(String content) {
+            this.protocReport = content;
+        }
+
+        private static String outcomeOf(TaskOperationResult result) {
+            if (result instanceof TaskSkippedResult) {
+                return "skipped";
+            }
+            if (result instanceof TaskFailureResult) {
+                return "failed";
+            }
+            if (result instanceof TaskSuccessResult) {
+                var success = (TaskSuccessResult) result;
+                if (success.isFromCache()) {
+                    return "from-cache";
+                }
+                return success.isUpToDate() ? "up-to-date" : "executed";
+            }
+            return "unknown";
+        }
+
+        private synchronized void appendTo(StringBuilder json) {
+            json.append("    {\"path\": ").append(quoted(path))
+                .append(", \"kind\": ").append(quoted(kind))
+                .append(", \"outcome\": ").append(quoted(outcome))
+                .append(", \"wallTimeMillis\": ").append(millis)
+                .append(", \"outputFiles\": ").append(files)
+                .append(", \"outputBytes\": ").append(bytes);
+            if (protocReport != null) {
+                json.append(", \"protocPlugin\": ")
+                    .append(protocReport.replace("\n", "\n    "));
+            }
+            json.append('}');
+        }
+    }
+}
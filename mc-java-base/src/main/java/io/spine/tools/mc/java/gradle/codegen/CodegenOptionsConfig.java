@@ -42,11 +42,13 @@ import io.spine.tools.mc.java.codegen.CodegenOptions;
 import io.spine.tools.mc.java.codegen.Messages;
 import io.spine.tools.mc.java.codegen.Pattern;
 import io.spine.tools.mc.java.codegen.TypePattern;
+import io.spine.tools.mc.java.gradle.McJavaBuildReport;
 import io.spine.tools.proto.code.ProtoTypeName;
 import io.spine.validation.FilePattern;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.compile.JavaCompile;
 
 import java.io.File;
@@ -54,6 +56,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.base.MessageFile.COMMANDS;
 import static io.spine.base.MessageFile.EVENTS;
@@ -72,6 +75,9 @@ public final class CodegenOptionsConfig extends Config<CodegenOptions> {
     private final UuidConfig uuids;
     private final ValidationConfig validation;
     private final Set<Messages> messagesConfigs = new HashSet<>();
+    private final Property<Boolean> reportPerformance;
+    private final Property<Boolean> generateInProcess;
+    private final Property<Integer> inProcessShards;
     private final Project project;
 
     @Internal
@@ -84,6 +90,9 @@ public final class CodegenOptionsConfig extends Config<CodegenOptions> {
         this.entities = new EntityConfig(project);
         this.uuids = new UuidConfig(project);
         this.validation = new ValidationConfig(project);
+        this.reportPerformance = project.getObjects().property(Boolean.class);
+        this.generateInProcess = project.getObjects().property(Boolean.class);
+        this.inProcessShards = project.getObjects().property(Integer.class);
         prepareConvention();
     }
 
@@ -101,6 +110,9 @@ public final class CodegenOptionsConfig extends Config<CodegenOptions> {
         entities.convention(OptionsProto.entity, EntityState.class, EntityStateField.class);
         uuids.convention(UuidMethodFactory.class, UuidValue.class);
         validation.enableAllByConvention();
+        reportPerformance.convention(McJavaBuildReport.enabledFor(project));
+        generateInProcess.convention(false);
+        inProcessShards.convention(1);
     }
 
     /**
@@ -149,6 +161,72 @@ public final class CodegenOptionsConfig extends Config<CodegenOptions> {
         action.execute(validation);
     }
 
+    /**
+     * Makes the Protoc Plugin measure the time and memory spent by each code generator and
+     * write the measurements to a JSON report.
+     *
+     * <p>The report is written to the {@code build/tmp} directory, next to the configuration
+     * file of the plugin. The path to the report is logged after the code generation.
+     *
+     * <p>The report is also turned on by the {@linkplain McJavaBuildReport build report}.
+     */
+    public void reportPerformance() {
+        reportPerformance.set(true);
+    }
+
+    /**
+     * Checks if the Protoc Plugin should report its performance.
+     */
+    public boolean shouldReportPerformance() {
+        return reportPerformance.get();
+    }
+
+    /**
+     * Makes the Protoc Plugin run in the Gradle build process instead of being launched
+     * by {@code protoc}.
+     *
+     * <p>In this mode, {@code protoc} runs only the built-in generators. The Protoc Plugin
+     * then processes the descriptor set written by {@code protoc} and adds its code to copies
+     * of the generated Java files placed under {@code build/spine-protoc/<source set>/java}.
+     * This saves launching a JVM and serializing the descriptors twice for each source set.
+     *
+     * <p>The performance report is not written in this mode.
+     */
+    public void generateInProcess() {
+        generateInProcess.set(true);
+    }
+
+    /**
+     * Makes the Protoc Plugin run in the Gradle build process, processing the proto files of
+     * each source set in the given number of parallel shards.
+     *
+     * <p>The files which import each other are kept in the same shard where possible.
+     * Use this option for source sets with many proto files, so that the code generation time
+     * scales with the number of cores.
+     *
+     * @see #generateInProcess()
+     */
+    public void generateInProcess(int shards) {
+        checkArgument(shards > 0, "The number of shards must be positive.");
+        generateInProcess.set(true);
+        inProcessShards.set(shards);
+    }
+
+    /**
+     * Obtains the number of shards for the proto files of a source set when the Protoc Plugin
+     * runs in the Gradle build process.
+     */
+    public int inProcessShards() {
+        return inProcessShards.get();
+    }
+
+    /**
+     * Checks if the Protoc Plugin should run in the Gradle build process.
+     */
+    public boolean shouldGenerateInProcess() {
+        return generateInProcess.get();
+    }
+
     /**
      * Configures code generation for a group messages.
      *
@@ -201,7 +279,8 @@ public final class CodegenOptionsConfig extends Config<CodegenOptions> {
                 .setEntities(entities.toProto())
                 .setValidation(validation.toProto())
                 .setUuids(uuids.toProto())
-                .setClasspath(classpath);
+                .setClasspath(classpath)
+                .setReportPerformance(reportPerformance.get());
         messagesConfigs.forEach(builder::addMessages);
         return builder.build();
     }
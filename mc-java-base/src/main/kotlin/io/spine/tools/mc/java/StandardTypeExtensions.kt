@@ -56,3 +56,12 @@ public fun String.decodeBase64(): String {
  * @see [String.toBase64Encoded]
  */
 public fun Path.toBase64Encoded(): String = toString().toBase64Encoded()
+
+/**
+ * Obtains the path to the performance report written by the Spine Protoc Plugin
+ * configured with the file at this path.
+ *
+ * The report is placed next to the configuration file.
+ */
+public fun Path.performanceReportFile(): Path =
+    resolveSibling(fileName.toString().substringBeforeLast('.') + "-performance.json")
@@ -40,7 +40,15 @@ public class McJavaTaskName(value: String, ssn: SourceSetName) : TaskWithSourceS
 
         /** Additional cleanup task added to the Gradle lifecycle. */
         @JvmField
-        public val preClean: TaskName = PreCleanTaskName()
+        public val preClean: TaskName = ProjectTaskName("preClean")
+
+        /**
+         * Writes the script launching the Protobuf compiler plugin with
+         * the class data sharing archive.
+         */
+        @JvmField
+        public val writeProtocPluginLauncher: TaskName =
+            ProjectTaskName("writeProtocPluginLauncher")
 
         /**
          * Obtains the name of the task which annotates Java code according to
@@ -81,6 +89,14 @@ public class McJavaTaskName(value: String, ssn: SourceSetName) : TaskWithSourceS
         public fun writeDescriptorReference(ssn: SourceSetName): TaskName =
             McJavaTaskName("write${ssn.toInfix()}DescriptorReferences", ssn)
 
+        /**
+         * Obtains the name of the task which runs the Protobuf compiler plugin in the build
+         * process for the specified source set.
+         */
+        @JvmStatic
+        public fun runProtocPlugin(ssn: SourceSetName): TaskName =
+            McJavaTaskName("run${ssn.toInfix()}ProtocPlugin", ssn)
+
         /** Generates source code of rejections in the `main` source set. */
         @JvmField
         public val generateRejections: TaskName = generateRejections(main)
@@ -112,8 +128,8 @@ public class McJavaTaskName(value: String, ssn: SourceSetName) : TaskWithSourceS
 }
 
 /**
- * The `preClean` task which does not depend on a source set name.
+ * The name of a task which does not depend on a source set name.
  */
-private data class PreCleanTaskName(private val value: String = "preClean") : TaskName {
+private data class ProjectTaskName(private val value: String) : TaskName {
     override fun name(): String = value
 }
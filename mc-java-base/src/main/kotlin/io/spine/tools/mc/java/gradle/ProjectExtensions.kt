@@ -99,4 +99,65 @@ public fun Project.generatedGrpcDir(ss: SourceSetName): Path = generated(ss).res
  */
 public fun Project.generatedRejectionsDir(ss: SourceSetName): Path = generated(ss).resolve(spine)
 
+/**
+ * Obtains the directory with the annotated copies of the generated Java and gRPC code
+ * for the specified source set.
+ *
+ * The directory contains `java` and `grpc` subdirectories, which mirror [generatedJavaDir]
+ * and [generatedGrpcDir] correspondingly.
+ */
+public fun Project.annotatedDir(ss: SourceSetName): Path =
+    buildDir.toPath().resolve("annotated").resolve(ss.value)
+
+/**
+ * Obtains the directory with the Java code generated for the specified source set when
+ * the Spine `protoc` plugin runs in the build process.
+ *
+ * The directory contains a copy of [generatedJavaDir] completed with the code of
+ * the Spine `protoc` plugin. It is written by the `runProtocPlugin` task of the source set.
+ */
+public fun Project.inProcessJavaDir(ss: SourceSetName): Path =
+    buildDir.toPath().resolve("spine-protoc").resolve(ss.value).resolve(java)
+
+/**
+ * Obtains the directory with the complete Java code generated for the specified source set.
+ *
+ * If the Spine `protoc` plugin runs in the build process, this is the [inProcessJavaDir].
+ * Otherwise, this is the [generatedJavaDir].
+ */
+public fun Project.completeJavaDir(ss: SourceSetName): Path =
+    if (mcJava.codegen.shouldGenerateInProcess()) inProcessJavaDir(ss) else generatedJavaDir(ss)
+
+/**
+ * Removes the given directories from the Java source directories of the specified source set.
+ *
+ * @return `true` if any of the directories was among the source directories,
+ *         `false` otherwise
+ */
+public fun Project.removeJavaSrcDirs(ss: SourceSetName, dirs: Collection<Path>): Boolean {
+    val removed = dirs.map { it.normalized() }.toSet()
+    val javaSources = sourceSet(ss).java
+    val srcDirs = javaSources.srcDirs
+    val remaining = srcDirs.filter { it.toPath().normalized() !in removed }
+    if (remaining.size == srcDirs.size) {
+        return false
+    }
+    javaSources.setSrcDirs(remaining)
+    return true
+}
+
+private fun Path.normalized(): Path = toAbsolutePath().normalize()
+
+/**
+ * Obtains the descriptor set file which contains all the types known to the specified
+ * source set, including the types from the project dependencies.
+ *
+ * The file is written by the `mergeDescriptorSet` task of the source set.
+ */
+public fun Project.mergedDescriptorSetFile(ss: SourceSetName): Path =
+    buildDir.toPath()
+        .resolve("merged-descriptors")
+        .resolve(ss.value)
+        .resolve("known_types.desc")
+
 private fun Path.resolve(dir: DirectoryName) = this.resolve(dir.value())
@@ -27,6 +27,7 @@
 import io.spine.internal.dependency.AutoService
 import io.spine.internal.dependency.ErrorProne
 import io.spine.internal.dependency.Spine
+import io.spine.internal.gradle.jmh.jmhBenchmarks
 
 dependencies {
     annotationProcessor(AutoService.processor)
@@ -85,3 +86,22 @@ tasks.withType<JavaCompile>().configureEach {
         "tree"
     )
 }
+
+/**
+ * The JMH benchmarks of the checks.
+ *
+ * Run them with `./gradlew :mc-java-checks:jmh`.
+ * Pass JMH options via the `jmhArgs` property, e.g. `-PjmhArgs="-p files=20"`.
+ *
+ * Error Prone running in the forked benchmark JVM needs the `javac` internals.
+ */
+jmhBenchmarks(
+    "Runs the JMH benchmarks of the Error Prone checks.",
+    jvmArgs = listOf(
+        "api", "code", "comp", "file", "main", "model", "parser", "processing", "tree", "util"
+    ).map {
+        "--add-exports=jdk.compiler/com.sun.tools.javac.$it=ALL-UNNAMED"
+    } + listOf("code", "comp").map {
+        "--add-opens=jdk.compiler/com.sun.tools.javac.$it=ALL-UNNAMED"
+    }
+)
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.methodresult;
+
+import com.google.errorprone.BaseErrorProneJavaCompiler;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.CheckReturnValue;
+import com.google.errorprone.scanner.ScannerSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.io.Delete.deleteRecursively;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures the time of compiling builder-heavy code with and without the
+ * {@link HandleMethodResult} check.
+ *
+ * <p>The compiled sources resemble the generated code, which mostly calls the mutating methods
+ * of message builders. The {@link #checker} parameter selects plain {@code javac}, Error Prone
+ * with the stock {@link CheckReturnValue} check, or Error Prone with {@link HandleMethodResult}.
+ * The checks report warnings, which are discarded, so that all the variants compile
+ * the same code.
+ *
+ * <p>Run with {@code ./gradlew :mc-java-checks:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HandleMethodResultBenchmark {
+
+    private static final String NONE = "none";
+
+    @Param({NONE, "CheckReturnValue", "HandleMethodResult"})
+    private String checker;
+
+    @Param({"20", "100"})
+    private int files;
+
+    @Param("20")
+    private int methodsPerFile;
+
+    @Param("10")
+    private int fieldsPerMethod;
+
+    private Path sourceDir;
+    private Path outputDir;
+    private List<Path> sources;
+    private JavaCompiler compiler;
+    private List<String> options;
+
+    @Setup
+    public void setUp() throws IOException {
+        sourceDir = Files.createTempDirectory("handle-method-result-sources");
+        outputDir = Files.createTempDirectory("handle-method-result-classes");
+        sources = new ArrayList<>(files);
+        for (var i = 0; i < files; i++) {
+            var file = sourceDir.resolve("Model" + i + ".java");
+            Files.writeString(file, source(i), UTF_8);
+            sources.add(file);
+        }
+        compiler = compiler();
+        options = new ArrayList<>(List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDir.toString(),
+                "-proc:none"
+        ));
+        if (!NONE.equals(checker)) {
+            options.add("-XepDisableAllChecks");
+            options.add("-Xep:" + checker + ":WARN");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteRecursively(sourceDir);
+        deleteRecursively(outputDir);
+    }
+
+    @Benchmark
+    public boolean compile() throws IOException {
+        try (var fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            Iterable<? extends JavaFileObject> units =
+                    fileManager.getJavaFileObjectsFromPaths(sources);
+            var task = compiler.getTask(null, fileManager, diagnostic -> {},
+                                        options, null, units);
+            return task.call();
+        }
+    }
+
+    private JavaCompiler compiler() {
+        switch (checker) {
+            case NONE:
+                return ToolProvider.getSystemJavaCompiler();
+            case "CheckReturnValue":
+                return errorProneWith(CheckReturnValue.class);
+            case "HandleMethodResult":
+                return errorProneWith(HandleMethodResult.class);
+            default:
+                throw newIllegalArgumentException("Unknown checker `%s`.", checker);
+        }
+    }
+
+    private static JavaCompiler errorProneWith(Class<? extends BugChecker> check) {
+        return new BaseErrorProneJavaCompiler(ScannerSupplier.fromBugCheckerClasses(check));
+    }
+
+    /**
+     * Creates the source code of a class which builds messages in the manner of
+     * the generated code.
+     */
+    private String source(int index) {
+        var code = new StringBuilder(4096);
+        code.append("import com.google.protobuf.ListValue;\n")
+            .append("import com.google.protobuf.Struct;\n")
+            .append("import com.google.protobuf.Value;\n\n")
+            .append("public final class Model").append(index).append(" {\n");
+        for (var method = 0; method < methodsPerFile; method++) {
+            code.append("\n    public static Struct message").append(method)
+                .append("(Struct.Builder builder) {\n")
+                .append("        ListValue.Builder list = ListValue.newBuilder();\n");
+            for (var field = 0; field < fieldsPerMethod; field++) {
+                code.append("        builder.putFields(\"field").append(field)
+                    .append("\", Value.newBuilder().setStringValue(\"value")
+                    .append(field).append("\").build());\n")
+                    .append("        list.addValues(Value.newBuilder().setNumberValue(")
+                    .append(field).append(").build());\n");
+            }
+            code.append("        builder.putFields(\"list\", ")
+                .append("Value.newBuilder().setListValue(list).build());\n")
+                .append("        builder.removeFields(\"field0\");\n")
+                .append("        builder.getFieldsCount();\n")
+                .append("        return builder.build();\n")
+                .append("    }\n");
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+}
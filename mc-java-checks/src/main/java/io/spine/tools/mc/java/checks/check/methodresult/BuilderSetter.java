@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.methodresult;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.matchers.Matcher;
+import com.google.protobuf.Message;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Name;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.errorprone.util.ASTHelpers.getSymbol;
+import static com.google.errorprone.util.ASTHelpers.isSubtype;
+
+/**
+ * Matches invocations of and references to the mutating instance methods of
+ * {@linkplain Message.Builder message builders}.
+ *
+ * <p>A method is mutating if its name starts with one of the {@linkplain #MUTATOR_PREFIXES
+ * mutator prefixes} followed by at least one more character.
+ *
+ * <p>As builder calls dominate the generated code, the matcher remembers whether
+ * a method name is mutating and whether a class is a builder. The results are kept for
+ * the current compilation only, as the names and the symbols belong to the compiler context.
+ */
+final class BuilderSetter implements Matcher<ExpressionTree> {
+
+    private static final long serialVersionUID = 0L;
+
+    private static final ImmutableList<String> MUTATOR_PREFIXES =
+            ImmutableList.of("set", "add", "put", "merge", "remove");
+
+    private static final String BUILDER_TYPE = Message.Builder.class.getName();
+
+    private transient @Nullable Context context;
+    private transient @Nullable Map<Name, Boolean> mutatorNames;
+    private transient @Nullable Map<Symbol, Boolean> builderTypes;
+
+    @Override
+    public boolean matches(ExpressionTree tree, VisitorState state) {
+        var symbol = getSymbol(tree);
+        if (!(symbol instanceof MethodSymbol) || symbol.isStatic()) {
+            return false;
+        }
+        useContextOf(state);
+        return isMutatorName(symbol.getSimpleName())
+                && isBuilder(symbol.owner, state);
+    }
+
+    /**
+     * Drops the remembered results if the given state belongs to another compilation.
+     */
+    private void useContextOf(VisitorState state) {
+        if (context != state.context || mutatorNames == null || builderTypes == null) {
+            context = state.context;
+            mutatorNames = new HashMap<>();
+            builderTypes = new HashMap<>();
+        }
+    }
+
+    @SuppressWarnings("ConstantConditions") // Initialized in `useContextOf(..)`.
+    private boolean isMutatorName(Name name) {
+        return mutatorNames.computeIfAbsent(name, n -> isMutatorName(n.toString()));
+    }
+
+    private static boolean isMutatorName(String name) {
+        for (var prefix : MUTATOR_PREFIXES) {
+            if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("ConstantConditions") // Initialized in `useContextOf(..)`.
+    private boolean isBuilder(Symbol owner, VisitorState state) {
+        var known = builderTypes.get(owner);
+        if (known != null) {
+            return known;
+        }
+        @Nullable Type builderType = state.getTypeFromString(BUILDER_TYPE);
+        var result = builderType != null && isSubtype(owner.type, builderType, state);
+        builderTypes.put(owner, result);
+        return result;
+    }
+}
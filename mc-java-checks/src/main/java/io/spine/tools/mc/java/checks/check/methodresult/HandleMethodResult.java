@@ -32,12 +32,8 @@ import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.CheckReturnValue;
 import com.google.errorprone.matchers.Matcher;
-import com.google.errorprone.matchers.method.MethodMatchers;
-import com.google.protobuf.Message;
 import com.sun.source.tree.ExpressionTree;
 
-import java.util.regex.Pattern;
-
 import static com.google.errorprone.BugPattern.LinkType.NONE;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.allOf;
@@ -65,23 +61,22 @@ public final class HandleMethodResult extends CheckReturnValue {
 
     static final String SUMMARY =
             "Ignored return value of method that is annotated with `@CheckReturnValue`";
-    private static final Pattern ACCESSOR_PREFIX = Pattern.compile("(set|add|put|merge|remove).+");
 
     public HandleMethodResult() {
         super(ErrorProneFlags.empty());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The cheaper {@linkplain BuilderSetter builder setter} matcher goes first, so that
+     * the most frequent calls in the generated code skip the annotation lookup performed by
+     * {@link CheckReturnValue}.
+     */
     @Override
     public Matcher<ExpressionTree> specializedMatcher() {
         var checkReturnValue = super.specializedMatcher();
-        var notBuilderSetter = not(builderSetter());
-        return allOf(checkReturnValue, notBuilderSetter);
-    }
-
-    private static Matcher<ExpressionTree> builderSetter() {
-        return MethodMatchers
-                .instanceMethod()
-                .onDescendantOf(Message.Builder.class.getName())
-                .withNameMatching(ACCESSOR_PREFIX);
+        var notBuilderSetter = not(new BuilderSetter());
+        return allOf(notBuilderSetter, checkReturnValue);
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.rebuild;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.AssignmentTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.protobuf.Message;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.tree.WhileLoopTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static com.google.errorprone.BugPattern.LinkType.NONE;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.util.ASTHelpers.getReceiver;
+import static com.google.errorprone.util.ASTHelpers.getSymbol;
+import static com.google.errorprone.util.ASTHelpers.isSubtype;
+import static com.google.errorprone.util.ASTHelpers.stripParentheses;
+
+/**
+ * An ErrorProne check which detects messages rebuilt on each iteration of a loop.
+ *
+ * <p>The check matches the assignments of the form
+ * <pre>
+ *     message = message.toBuilder().setFoo(foo).build();
+ * </pre>
+ * in the body of a loop, where {@code message} is declared outside the loop. Each such
+ * assignment copies the whole message into a new builder and then into a new message.
+ * Instead, the builder should be created before the loop, updated in the loop, and built once
+ * after the loop.
+ *
+ * <p>Both {@code build()} and {@code vBuild()} methods of the builders are recognized.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        summary = RebuildInLoop.SUMMARY,
+        severity = WARNING,
+        linkType = NONE
+)
+public final class RebuildInLoop extends BugChecker implements AssignmentTreeMatcher {
+
+    private static final long serialVersionUID = 0L;
+
+    static final String SUMMARY =
+            "A message is rebuilt via `toBuilder()` on each iteration of a loop";
+
+    private static final String MESSAGE =
+            "The message `%s` is copied into a new builder and built again on each iteration. " +
+                    "Create the builder before the loop, update it in the loop, " +
+                    "and build the message once after the loop.";
+
+    private static final ImmutableSet<String> BUILD_METHODS = ImmutableSet.of("build", "vBuild");
+    private static final String TO_BUILDER = "toBuilder";
+
+    @Override
+    public Description matchAssignment(AssignmentTree tree, VisitorState state) {
+        var variable = getSymbol(tree.getVariable());
+        if (variable == null) {
+            return Description.NO_MATCH;
+        }
+        var value = stripParentheses(tree.getExpression());
+        if (!isBuildOf(value, variable, state)) {
+            return Description.NO_MATCH;
+        }
+        var loop = enclosingLoop(state);
+        if (loop == null || declaresIn(loop, variable)) {
+            return Description.NO_MATCH;
+        }
+        return buildDescription(tree)
+                .setMessage(String.format(MESSAGE, variable.getSimpleName()))
+                .build();
+    }
+
+    /**
+     * Checks if the given expression builds a message from a builder obtained via
+     * {@code toBuilder()} called on the given variable.
+     */
+    private static boolean isBuildOf(ExpressionTree expression, Symbol variable,
+                                     VisitorState state) {
+        if (!isInstanceMethod(expression, BUILD_METHODS, Message.Builder.class, state)) {
+            return false;
+        }
+        @Nullable ExpressionTree receiver = getReceiver(expression);
+        while (receiver instanceof MethodInvocationTree) {
+            if (isInstanceMethod(receiver, ImmutableSet.of(TO_BUILDER), Message.class, state)) {
+                var message = getReceiver(receiver);
+                return message != null && variable.equals(getSymbol(message));
+            }
+            receiver = getReceiver(receiver);
+        }
+        return false;
+    }
+
+    private static boolean isInstanceMethod(ExpressionTree expression,
+                                            ImmutableSet<String> names,
+                                            Class<?> owner,
+                                            VisitorState state) {
+        if (!(expression instanceof MethodInvocationTree)) {
+            return false;
+        }
+        var symbol = getSymbol(expression);
+        if (!(symbol instanceof MethodSymbol) || symbol.isStatic()) {
+            return false;
+        }
+        var method = (MethodSymbol) symbol;
+        if (!method.getParameters().isEmpty()
+                || !names.contains(method.getSimpleName().toString())) {
+            return false;
+        }
+        var ownerType = state.getTypeFromString(owner.getName());
+        return ownerType != null && isSubtype(method.owner.type, ownerType, state);
+    }
+
+    /**
+     * Finds the loop in the body of which the current tree is located.
+     *
+     * <p>The search stops at the enclosing method, lambda, or class, as the code in them
+     * is not necessarily executed on each iteration of an outer loop.
+     *
+     * @return the loop or {@code null} if the tree is not in a loop body
+     */
+    private static @Nullable Tree enclosingLoop(VisitorState state) {
+        Tree child = state.getPath().getLeaf();
+        for (var parent : state.getPath().getParentPath()) {
+            if (parent instanceof MethodTree
+                    || parent instanceof LambdaExpressionTree
+                    || parent instanceof ClassTree) {
+                return null;
+            }
+            @Nullable StatementTree body = bodyOf(parent);
+            if (body != null && body.equals(child)) {
+                return parent;
+            }
+            child = parent;
+        }
+        return null;
+    }
+
+    private static @Nullable StatementTree bodyOf(Tree tree) {
+        if (tree instanceof ForLoopTree) {
+            return ((ForLoopTree) tree).getStatement();
+        }
+        if (tree instanceof EnhancedForLoopTree) {
+            return ((EnhancedForLoopTree) tree).getStatement();
+        }
+        if (tree instanceof WhileLoopTree) {
+            return ((WhileLoopTree) tree).getStatement();
+        }
+        if (tree instanceof DoWhileLoopTree) {
+            return ((DoWhileLoopTree) tree).getStatement();
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given variable is declared within the given loop, so that each iteration
+     * works with a new variable.
+     */
+    private static boolean declaresIn(Tree loop, Symbol variable) {
+        var declared = new TreeScanner<Boolean, Void>() {
+            @Override
+            public Boolean visitVariable(VariableTree node, Void unused) {
+                if (variable.equals(getSymbol(node))) {
+                    return true;
+                }
+                return super.visitVariable(node, unused);
+            }
+
+            @Override
+            public Boolean reduce(@Nullable Boolean left, @Nullable Boolean right) {
+                return Boolean.TRUE.equals(left) || Boolean.TRUE.equals(right);
+            }
+        }.scan(loop, null);
+        return Boolean.TRUE.equals(declared);
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.validation;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.protobuf.Message;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.LabeledStatementTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.SwitchTree;
+import com.sun.source.tree.SynchronizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.tree.WhileLoopTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.lang.model.element.ElementKind;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.errorprone.BugPattern.LinkType.NONE;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.util.ASTHelpers.getReceiver;
+import static com.google.errorprone.util.ASTHelpers.getSymbol;
+import static com.google.errorprone.util.ASTHelpers.isSubtype;
+import static com.google.errorprone.util.ASTHelpers.stripParentheses;
+
+/**
+ * An ErrorProne check which detects validation of messages which are already known
+ * to be valid.
+ *
+ * <p>A message is known to be valid if it is:
+ * <ul>
+ *     <li>returned by {@code vBuild()} of a message builder;
+ *     <li>stored in a local variable initialized or assigned with the result of
+ *         {@code vBuild()}, with no other assignment to the variable afterwards;
+ *     <li>stored in a local variable validated earlier in the same method, with no other
+ *         assignment to the variable afterwards.
+ * </ul>
+ *
+ * <p>The check reports the statements calling {@code Validate.checkValid(message)} or
+ * {@code message.validate()} for such messages, and suggests removing the validation.
+ *
+ * <p>The analysis is conservative. A fact established within a branch, a loop, or
+ * a {@code try} block is not used after it, and an assignment anywhere in such a statement
+ * discards the facts about the assigned variable. The bodies of lambdas and local classes
+ * are not analyzed.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        summary = RedundantValidation.SUMMARY,
+        severity = WARNING,
+        linkType = NONE
+)
+public final class RedundantValidation extends BugChecker implements MethodTreeMatcher {
+
+    private static final long serialVersionUID = 0L;
+
+    static final String SUMMARY = "The message is validated again";
+
+    private static final String VALIDATE_CLASS = "io.spine.validate.Validate";
+    private static final String CHECK_VALID = "checkValid";
+    private static final String VALIDATE = "validate";
+    private static final String V_BUILD = "vBuild";
+
+    @Override
+    public Description matchMethod(MethodTree tree, VisitorState state) {
+        if (tree.getBody() == null) {
+            return Description.NO_MATCH;
+        }
+        new Flow(state).scan(tree.getBody(), new HashSet<>());
+        return Description.NO_MATCH;
+    }
+
+    /**
+     * Reports the redundant validation of the given message.
+     *
+     * <p>The suggested fix removes the statement. If the validated message is built right in
+     * the statement, the statement is replaced with building the message, so that the builder
+     * is still validated.
+     */
+    private void report(ExpressionStatementTree statement,
+                        ExpressionTree message,
+                        VisitorState state) {
+        var fix = isVBuild(message, state)
+                  ? SuggestedFix.replace(statement.getExpression(),
+                                         state.getSourceForNode(message))
+                  : SuggestedFix.delete(statement);
+        var description = buildDescription(statement)
+                .addFix(fix)
+                .build();
+        state.reportMatch(description);
+    }
+
+    /**
+     * Obtains the message validated by the given expression, or {@code null} if
+     * the expression is not a validation.
+     */
+    private static @Nullable ExpressionTree validatedBy(ExpressionTree expression,
+                                                        VisitorState state) {
+        var tree = stripParentheses(expression);
+        if (!(tree instanceof MethodInvocationTree)) {
+            return null;
+        }
+        var invocation = (MethodInvocationTree) tree;
+        var method = methodOf(invocation);
+        if (method == null) {
+            return null;
+        }
+        var name = method.getSimpleName().toString();
+        if (method.isStatic()) {
+            var isCheckValid = CHECK_VALID.equals(name)
+                    && VALIDATE_CLASS.equals(method.owner.getQualifiedName().toString())
+                    && !invocation.getArguments().isEmpty();
+            return isCheckValid ? invocation.getArguments().get(0) : null;
+        }
+        var isValidate = VALIDATE.equals(name)
+                && method.getParameters().isEmpty()
+                && isMemberOf(method, Message.class, state);
+        return isValidate ? getReceiver(invocation) : null;
+    }
+
+    /**
+     * Checks if the given expression is a call of {@code vBuild()} of a message builder.
+     */
+    private static boolean isVBuild(@Nullable ExpressionTree expression, VisitorState state) {
+        if (expression == null) {
+            return false;
+        }
+        var tree = stripParentheses(expression);
+        if (!(tree instanceof MethodInvocationTree)) {
+            return false;
+        }
+        var method = methodOf((MethodInvocationTree) tree);
+        return method != null
+                && !method.isStatic()
+                && V_BUILD.equals(method.getSimpleName().toString())
+                && method.getParameters().isEmpty()
+                && isMemberOf(method, Message.Builder.class, state);
+    }
+
+    private static @Nullable MethodSymbol methodOf(MethodInvocationTree invocation) {
+        var symbol = getSymbol(invocation);
+        return symbol instanceof MethodSymbol
+               ? (MethodSymbol) symbol
+               : null;
+    }
+
+    private static boolean isMemberOf(MethodSymbol method, Class<?> owner, VisitorState state) {
+        var ownerType = state.getTypeFromString(owner.getName());
+        return ownerType != null && isSubtype(method.owner.type, ownerType, state);
+    }
+
+    /**
+     * Obtains the local variable referenced by the given expression, or {@code null} if
+     * the expression is not a reference to a local variable or a parameter.
+     */
+    private static @Nullable Symbol localVariable(@Nullable ExpressionTree expression) {
+        if (expression == null) {
+            return null;
+        }
+        var tree = stripParentheses(expression);
+        if (!(tree instanceof IdentifierTree)) {
+            return null;
+        }
+        var symbol = getSymbol(tree);
+        if (symbol == null) {
+            return null;
+        }
+        var kind = symbol.getKind();
+        return kind == ElementKind.LOCAL_VARIABLE || kind == ElementKind.PARAMETER
+               ? symbol
+               : null;
+    }
+
+    /**
+     * Collects the variables assigned within the given tree.
+     */
+    private static Set<Symbol> assignedIn(Tree tree) {
+        Set<Symbol> assigned = new HashSet<>();
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitAssignment(AssignmentTree node, Void unused) {
+                var variable = getSymbol(node.getVariable());
+                if (variable != null) {
+                    assigned.add(variable);
+                }
+                return super.visitAssignment(node, unused);
+            }
+        }.scan(tree, null);
+        return assigned;
+    }
+
+    /**
+     * Traverses the statements of a method in the order of execution, tracking the local
+     * variables which hold valid messages.
+     */
+    private final class Flow extends TreeScanner<Void, Set<Symbol>> {
+
+        private final VisitorState state;
+
+        private Flow(VisitorState state) {
+            super();
+            this.state = state;
+        }
+
+        @Override
+        public Void visitVariable(VariableTree node, Set<Symbol> valid) {
+            super.visitVariable(node, valid);
+            var variable = getSymbol(node);
+            if (isVBuild(node.getInitializer(), state)) {
+                valid.add(variable);
+            } else {
+                valid.remove(variable);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitAssignment(AssignmentTree node, Set<Symbol> valid) {
+            super.visitAssignment(node, valid);
+            var variable = getSymbol(node.getVariable());
+            if (variable != null) {
+                valid.remove(variable);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitExpressionStatement(ExpressionStatementTree node, Set<Symbol> valid) {
+            var expression = stripParentheses(node.getExpression());
+            var validated = validatedBy(expression, state);
+            if (validated != null) {
+                var variable = localVariable(validated);
+                if (isVBuild(validated, state)
+                        || (variable != null && valid.contains(variable))) {
+                    report(node, validated, state);
+                }
+                super.visitExpressionStatement(node, valid);
+                if (variable != null) {
+                    valid.add(variable);
+                }
+                return null;
+            }
+            super.visitExpressionStatement(node, valid);
+            if (expression instanceof AssignmentTree) {
+                var assignment = (AssignmentTree) expression;
+                var variable = localVariable(assignment.getVariable());
+                if (variable != null && isVBuild(assignment.getExpression(), state)) {
+                    valid.add(variable);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitIf(IfTree node, Set<Symbol> valid) {
+            scan(node.getCondition(), valid);
+            scan(node.getThenStatement(), new HashSet<>(valid));
+            scan(node.getElseStatement(), new HashSet<>(valid));
+            valid.removeAll(assignedIn(node));
+            return null;
+        }
+
+        @Override
+        public Void visitForLoop(ForLoopTree node, Set<Symbol> valid) {
+            scan(node.getInitializer(), valid);
+            valid.removeAll(assignedIn(node));
+            var nested = new HashSet<>(valid);
+            scan(node.getCondition(), nested);
+            scan(node.getStatement(), nested);
+            scan(node.getUpdate(), nested);
+            return null;
+        }
+
+        @Override
+        public Void visitEnhancedForLoop(EnhancedForLoopTree node, Set<Symbol> valid) {
+            valid.removeAll(assignedIn(node));
+            return super.visitEnhancedForLoop(node, new HashSet<>(valid));
+        }
+
+        @Override
+        public Void visitWhileLoop(WhileLoopTree node, Set<Symbol> valid) {
+            valid.removeAll(assignedIn(node));
+            return super.visitWhileLoop(node, new HashSet<>(valid));
+        }
+
+        @Override
+        public Void visitDoWhileLoop(DoWhileLoopTree node, Set<Symbol> valid) {
+            valid.removeAll(assignedIn(node));
+            return super.visitDoWhileLoop(node, new HashSet<>(valid));
+        }
+
+        /**
+         * Scans each case with its own copy of the messages valid before the switch,
+         * as only one of the cases is executed, unless it falls through to the next.
+         */
+        @Override
+        public Void visitSwitch(SwitchTree node, Set<Symbol> valid) {
+            scan(node.getExpression(), valid);
+            for (var switchCase : node.getCases()) {
+                scan(switchCase, new HashSet<>(valid));
+            }
+            valid.removeAll(assignedIn(node));
+            return null;
+        }
+
+        /**
+         * Scans the try block, each of the catch blocks, and the finally block with their own
+         * copies of the messages valid before the statement.
+         *
+         * <p>A catch or finally block may run after the try block is interrupted at any point,
+         * so the validation done in the try block does not carry over to them.
+         */
+        @Override
+        public Void visitTry(TryTree node, Set<Symbol> valid) {
+            var tryBlock = new HashSet<>(valid);
+            scan(node.getResources(), tryBlock);
+            scan(node.getBlock(), tryBlock);
+            for (var catchTree : node.getCatches()) {
+                scan(catchTree, new HashSet<>(valid));
+            }
+            scan(node.getFinallyBlock(), new HashSet<>(valid));
+            valid.removeAll(assignedIn(node));
+            return null;
+        }
+
+        @Override
+        public Void visitSynchronized(SynchronizedTree node, Set<Symbol> valid) {
+            super.visitSynchronized(node, new HashSet<>(valid));
+            valid.removeAll(assignedIn(node));
+            return null;
+        }
+
+        @Override
+        public Void visitLabeledStatement(LabeledStatementTree node, Set<Symbol> valid) {
+            super.visitLabeledStatement(node, new HashSet<>(valid));
+            valid.removeAll(assignedIn(node));
+            return null;
+        }
+
+        @Override
+        public Void visitLambdaExpression(LambdaExpressionTree node, Set<Symbol> valid) {
+            return null;
+        }
+
+        @Override
+        public Void visitClass(ClassTree node, Set<Symbol> valid) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.gradle;
+
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A build service which remembers whether the {@code spine-mc-java-checks} dependency
+ * is resolvable, so that the dependency is resolved once per build rather than once
+ * per project.
+ *
+ * <p>The resolution depends on the repositories of a project. So, the results are keyed by
+ * the description of the repositories, and the projects sharing the same repositories
+ * share the result.
+ */
+@SuppressWarnings("AbstractClassNeverImplemented") // Gradle creates a subtype for this class.
+public abstract class ChecksResolutionCache
+        implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    /**
+     * The name under which the service is registered in the build.
+     */
+    private static final String NAME = "spineMcJavaChecksResolution";
+
+    private final Map<String, Boolean> resolvable = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the service in the given build, if it is not registered yet.
+     */
+    static Provider<ChecksResolutionCache> registerIn(Gradle gradle) {
+        checkNotNull(gradle);
+        return gradle.getSharedServices()
+                     .registerIfAbsent(NAME, ChecksResolutionCache.class, spec -> {});
+    }
+
+    /**
+     * Obtains the remembered result of the resolution for the given repositories or
+     * resolves the dependency via the given supplier.
+     *
+     * @param repositories
+     *         the description of the repositories used for the resolution
+     * @param resolution
+     *         the resolution of the dependency performed if there is no remembered result
+     * @return {@code true} if the dependency is resolvable, {@code false} otherwise
+     */
+    boolean isResolvable(String repositories, Supplier<Boolean> resolution) {
+        checkNotNull(repositories);
+        checkNotNull(resolution);
+        return resolvable.computeIfAbsent(repositories, key -> resolution.get());
+    }
+
+    @Override
+    public void close() {
+        resolvable.clear();
+    }
+}
@@ -30,6 +30,7 @@ import net.ltgt.gradle.errorprone.ErrorProneOptions;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskCollection;
 import org.gradle.api.tasks.compile.CompileOptions;
 import org.gradle.api.tasks.compile.JavaCompile;
@@ -70,6 +71,22 @@ final class ErrorProneOptionsAccess {
         }
     }
 
+    /**
+     * Adds the arguments obtained from the given provider to
+     * the {@linkplain CompileOptions#getForkOptions() fork options} of the {@code JavaCompile}
+     * tasks of the project.
+     *
+     * <p>The provider is queried when the arguments of a task are needed.
+     */
+    void addArgs(Provider<? extends Iterable<String>> arguments) {
+        checkNotNull(arguments);
+        for (var task : tasks) {
+            var errorprone = errorProneOptionsOf(task);
+            errorprone.getErrorproneArgs()
+                      .addAll(arguments);
+        }
+    }
+
     @NonNull
     private static ErrorProneOptions errorProneOptionsOf(JavaCompile task) {
         @SuppressWarnings("CastToIncompatibleInterface") // as provided by Gradle API.
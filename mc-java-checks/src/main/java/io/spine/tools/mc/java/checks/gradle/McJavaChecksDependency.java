@@ -26,37 +26,56 @@
 
 package io.spine.tools.mc.java.checks.gradle;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.spine.logging.Logging;
 import io.spine.tools.mc.java.checks.Artifacts;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencySet;
+import org.gradle.api.artifacts.repositories.UrlArtifactRepository;
 import org.gradle.api.artifacts.result.DependencyResult;
-import org.gradle.api.artifacts.result.ResolutionResult;
 import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
 import org.gradle.api.internal.artifacts.dependencies.DefaultExternalModuleDependency;
+import org.gradle.api.provider.Provider;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.gradle.Artifact.SPINE_TOOLS_GROUP;
 import static io.spine.tools.mc.java.checks.Artifacts.mcJavaChecks;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
 
 /**
  * Adds a {@code spine-mc-java-checks} dependency to the given project {@link Configuration}.
+ *
+ * <p>The dependency is added lazily, when the configuration is about to be resolved.
+ * If the dependency cannot be resolved with the repositories of the project, it is not added.
+ * The result of the check is {@linkplain ChecksResolutionCache shared} between the projects
+ * with the same repositories.
  */
 public final class McJavaChecksDependency implements Logging {
 
+    /** The project which configuration is extended. */
+    private final Project project;
+
     /** The configuration to be extended. */
     private final Configuration configuration;
 
     /** The dependency to be added. */
     private final Dependency dependency;
 
-    private McJavaChecksDependency(Configuration cfg) {
+    /** The remembered results of the resolution of the dependency. */
+    private final Provider<ChecksResolutionCache> cache;
+
+    private McJavaChecksDependency(Project project,
+                                   Configuration cfg,
+                                   Provider<ChecksResolutionCache> cache) {
+        this.project = project;
         this.configuration = cfg;
         this.dependency = checksDependency();
+        this.cache = cache;
     }
 
     private static DefaultExternalModuleDependency checksDependency() {
@@ -67,102 +86,110 @@ public final class McJavaChecksDependency implements Logging {
     }
 
     /**
-     * Adds the dependency of the Spine Model Checks to the given configuration.
+     * Makes the dependency of the Spine Model Checks added to the annotation processor
+     * configuration of the given project, if the dependency is resolvable.
+     *
+     * <p>The dependency is not resolved by this method. The check is performed when
+     * the configuration is resolved for the first time, or when the returned provider
+     * is queried, whichever comes first.
      *
      * @param project
      *         the project to which apply the dependency
-     * @return true if the configuration was applied
+     * @return the provider telling if the dependency is added to the configuration
      */
-    public static boolean addTo(Project project) {
+    @CanIgnoreReturnValue
+    public static Provider<Boolean> addTo(Project project) {
         checkNotNull(project);
         var cfg = AnnotationProcessorConfiguration.findOrCreateIn(project);
-        var dep = new McJavaChecksDependency(cfg);
-        var result = dep.addDependency();
-        return result;
+        var cache = ChecksResolutionCache.registerIn(project.getGradle());
+        var dep = new McJavaChecksDependency(project, cfg, cache);
+        cfg.withDependencies(dep::addIfResolvable);
+        return project.provider(dep::isResolvable);
     }
 
     /**
-     * Adds the dependency to the project configuration.
-     *
-     * @return {@code true} if the operation was successful, {@code false} otherwise
+     * Adds the dependency to the given dependencies of the configuration, if it can be resolved.
      */
-    private boolean addDependency() {
-        var helper = new ResolutionHelper();
-        if (helper.wasResolved()) {
-            addDependencyTo(configuration);
-            return true;
-        } else {
-            helper.logUnresolved();
-            return false;
+    private void addIfResolvable(DependencySet dependencies) {
+        if (isResolvable()) {
+            _debug().log("Adding a dependency on `%s` to the `%s` configuration.",
+                         mcJavaChecks(), configuration);
+            dependencies.add(dependency);
         }
     }
 
     /**
-     * Adds the dependency to the project configuration.
+     * Tells if the dependency can be resolved with the repositories of the project.
      */
-    private void addDependencyTo(Configuration cfg) {
-        _debug().log("Adding a dependency on `%s` to the `%s` configuration.", mcJavaChecks(), cfg);
-        var dependencies = cfg.getDependencies();
-        dependencies.add(dependency);
+    private boolean isResolvable() {
+        return cache.get()
+                    .isResolvable(repositories(), this::resolve);
     }
 
     /**
-     * Assists with checking if the dependency can be resolved, and if not, helps with
-     * logging error diagnostics.
+     * Describes the repositories of the project, which determine the result of the resolution.
      */
-    private final class ResolutionHelper {
-
-        private final ResolutionResult resolutionResult;
-        private @Nullable UnresolvedDependencyResult unresolved;
+    private String repositories() {
+        return project.getRepositories()
+                      .stream()
+                      .map(repo -> repo instanceof UrlArtifactRepository
+                                   ? repo.getName() + '=' + ((UrlArtifactRepository) repo).getUrl()
+                                   : repo.getName())
+                      .collect(joining(", "));
+    }
 
-        private ResolutionHelper() {
-            var configCopy = configuration.copy();
-            addDependencyTo(configCopy);
-            resolutionResult =
-                    configCopy.getIncoming()
-                              .getResolutionResult();
+    /**
+     * Resolves the dependency in a detached configuration.
+     *
+     * @return {@code true} if the dependency was resolved, {@code false} otherwise
+     */
+    private boolean resolve() {
+        var detached = project.getConfigurations()
+                              .detachedConfiguration(checksDependency());
+        var allDeps = detached.getIncoming()
+                              .getResolutionResult()
+                              .getAllDependencies();
+        var unresolved = findUnresolved(allDeps);
+        if (unresolved != null) {
+            logUnresolved(unresolved);
+            return false;
         }
+        return true;
+    }
 
-        /**
-         * Verifies if the {@link #dependency} to be added was resolved, returning {@code true}
-         * if so.
-         *
-         * <p>If the {@link #dependency} was not resolved, the corresponding
-         * {@link UnresolvedDependencyResult} is {@linkplain #unresolved stored} for
-         * future logging needs.
-         */
-        private boolean wasResolved() {
-            var allDeps = resolutionResult.getAllDependencies();
-            var group = requireNonNull(dependency.getGroup());
-            var name = dependency.getName();
-            for (DependencyResult dep : allDeps) {
-                if (dep instanceof UnresolvedDependencyResult) {
-                    var unresolved = (UnresolvedDependencyResult) dep;
-                    var attempted = unresolved.getAttempted();
-                    var displayName = attempted.getDisplayName();
-                    if (displayName.contains(group) && displayName.contains(name)) {
-                        this.unresolved = unresolved;
-                        return false;
-                    }
+    /**
+     * Finds the result of the failed resolution of the {@link #dependency} among
+     * the given results.
+     */
+    private @Nullable UnresolvedDependencyResult
+    findUnresolved(Iterable<? extends DependencyResult> allDeps) {
+        var group = requireNonNull(dependency.getGroup());
+        var name = dependency.getName();
+        for (DependencyResult dep : allDeps) {
+            if (dep instanceof UnresolvedDependencyResult) {
+                var unresolved = (UnresolvedDependencyResult) dep;
+                var displayName = unresolved.getAttempted().getDisplayName();
+                if (displayName.contains(group) && displayName.contains(name)) {
+                    return unresolved;
                 }
             }
-            return true;
         }
+        return null;
+    }
 
-        private void logUnresolved() {
-            var problemReport = toErrorMessage(requireNonNull(unresolved));
-            _warn().log(
-                    "Unable to add a dependency on `%s` to the configuration `%s` because some " +
-                            "dependencies could not be resolved: " +
-                            "%s.",
-                    mcJavaChecks(), configuration.getName(), problemReport
-            );
-        }
+    private void logUnresolved(UnresolvedDependencyResult unresolved) {
+        var problemReport = toErrorMessage(unresolved);
+        _warn().log(
+                "Unable to add a dependency on `%s` to the configuration `%s` because some " +
+                        "dependencies could not be resolved: " +
+                        "%s.",
+                mcJavaChecks(), configuration.getName(), problemReport
+        );
+    }
 
-        private String toErrorMessage(UnresolvedDependencyResult entry) {
-            var dependency = entry.getAttempted().getDisplayName();
-            var throwable = entry.getFailure();
-            return format("%nDependency: `%s`%nProblem: `%s`", dependency, throwable);
-        }
+    private static String toErrorMessage(UnresolvedDependencyResult entry) {
+        var dependency = entry.getAttempted().getDisplayName();
+        var throwable = entry.getFailure();
+        return format("%nDependency: `%s`%nProblem: `%s`", dependency, throwable);
     }
 }
@@ -44,6 +44,13 @@ public class McJavaChecksExtension {
 
     public Severity useValidatingBuilderSeverity;
 
+    /**
+     * The severity of the check detecting messages rebuilt on each iteration of a loop.
+     *
+     * @see io.spine.tools.mc.java.checks.check.rebuild.RebuildInLoop
+     */
+    public Severity rebuildInLoopSeverity;
+
     /**
      * Creates an instance of the extension in the given project.
      */
@@ -58,6 +65,11 @@ public class McJavaChecksExtension {
         return extension.useValidatingBuilderSeverity;
     }
 
+    public static Severity getRebuildInLoopSeverity(Project project) {
+        var extension = (McJavaChecksExtension) project.getExtensions().getByName(name());
+        return extension.rebuildInLoopSeverity;
+    }
+
     public static String name() {
         return EXTENSION_NAME;
     }
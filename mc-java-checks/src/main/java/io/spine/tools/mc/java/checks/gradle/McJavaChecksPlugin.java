@@ -40,6 +40,9 @@ import org.gradle.api.Project;
  * dependency to the {@code annotationProcessor} configuration of a Gradle project.
  * For the older Gradle versions (pre {@code 4.6}), where there is no such configuration,
  * the plugin creates it.
+ *
+ * <p>The dependency is checked and added when the configuration is resolved, so that
+ * applying the plugin does not resolve dependencies.
  */
 public final class McJavaChecksPlugin implements Plugin<Project> {
 
@@ -52,12 +55,8 @@ public final class McJavaChecksPlugin implements Plugin<Project> {
     @Override
     public void apply(Project project) {
         McJavaChecksExtension.createIn(project);
-        var dependencyResolved = McJavaChecksDependency.addTo(project);
-        if (!dependencyResolved) {
-            return;
-        }
-
-        var severity = McJavaChecksSeverity.initFor(project);
+        var checksAdded = McJavaChecksDependency.addTo(project);
+        var severity = McJavaChecksSeverity.initFor(project, checksAdded);
         severity.addConfigureSeverityAction();
     }
 }
@@ -27,14 +27,17 @@
 package io.spine.tools.mc.java.checks.gradle;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import io.spine.logging.Logging;
 import io.spine.tools.mc.checks.Severity;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.tools.mc.java.checks.gradle.McJavaChecksExtension.getRebuildInLoopSeverity;
 import static io.spine.tools.mc.java.checks.gradle.McJavaChecksExtension.getUseValidatingBuilderSeverity;
 
 /**
@@ -50,11 +53,15 @@ public final class McJavaChecksSeverity implements Logging {
     @VisibleForTesting
     static final String EQUALITY_ERROR = "-Xep:ReferenceEquality:ERROR";
 
+    private static final String REBUILD_IN_LOOP = "-Xep:RebuildInLoop:";
+
     private final Project project;
+    private final Provider<Boolean> checksAdded;
     private @Nullable Boolean hasErrorPronePlugin;
 
-    private McJavaChecksSeverity(Project project) {
+    private McJavaChecksSeverity(Project project, Provider<Boolean> checksAdded) {
         this.project = project;
+        this.checksAdded = checksAdded;
     }
 
     /**
@@ -62,11 +69,15 @@ public final class McJavaChecksSeverity implements Logging {
      *
      * @param project
      *         the project
+     * @param checksAdded
+     *         tells if the {@code mc-java-checks} dependency is added to the project;
+     *         the severities of the custom checks are only set if it is
      * @return the {@code SeverityConfigurer} instance
      */
-    public static McJavaChecksSeverity initFor(Project project) {
+    public static McJavaChecksSeverity initFor(Project project, Provider<Boolean> checksAdded) {
         checkNotNull(project);
-        return new McJavaChecksSeverity(project);
+        checkNotNull(checksAdded);
+        return new McJavaChecksSeverity(project, checksAdded);
     }
 
     /**
@@ -117,12 +128,33 @@ public final class McJavaChecksSeverity implements Logging {
                 severity.name(), project.getName()
         );
 
+        var configured = getRebuildInLoopSeverity(project);
+        var rebuildInLoop = configured != null ? configured : Severity.WARN;
+        _debug().log(
+                "Setting `RebuildInLoop` checker severity to `%s` for the project `%s`.",
+                rebuildInLoop.name(), project.getName()
+        );
+
         // String severityArg = "-Xep:UseValidatingBuilder:" + severity.name();
-        ErrorProneOptionsAccess
-                .of(project)
-                // Pass already present check to demo the API.
-                // Enumerate our custom checks doing the same later.
-                .addArgs(EQUALITY_ERROR/*, severityArg*/);
+        var errorProne = ErrorProneOptionsAccess.of(project);
+        // Pass already present check to demo the API.
+        // Enumerate our custom checks doing the same later.
+        errorProne.addArgs(EQUALITY_ERROR/*, severityArg*/);
+        // Error Prone fails on unknown checks, so the custom checks are configured
+        // only if their dependency is added.
+        errorProne.addArgs(checksAdded.map(
+                added -> added
+                         ? ImmutableList.of(rebuildInLoopArg(rebuildInLoop))
+                         : ImmutableList.of()
+        ));
+    }
+
+    /**
+     * Obtains the Error Prone argument setting the severity of the {@code RebuildInLoop} check.
+     */
+    @VisibleForTesting
+    static String rebuildInLoopArg(Severity severity) {
+        return REBUILD_IN_LOOP + severity.name();
     }
 
     /**
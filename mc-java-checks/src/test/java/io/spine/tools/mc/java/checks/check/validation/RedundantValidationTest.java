@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.validation;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("`RedundantValidation` check should")
+class RedundantValidationTest {
+
+    private CompilationTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = CompilationTestHelper.newInstance(RedundantValidation.class, getClass());
+    }
+
+    @Test
+    @DisplayName("match positive cases")
+    void recognizePositiveCases() {
+        helper.addSourceFile("given/RedundantValidationPositives.java")
+              .doTest();
+    }
+
+    @Test
+    @DisplayName("match negative cases")
+    void recognizeNegativeCases() {
+        helper.addSourceFile("given/RedundantValidationNegatives.java")
+              .doTest();
+    }
+
+    @Test
+    @DisplayName("remove redundant validation")
+    void removeValidation() {
+        BugCheckerRefactoringTestHelper
+                .newInstance(RedundantValidation.class, getClass())
+                .addInputLines(
+                        "Fix.java",
+                        "import io.spine.base.Error;",
+                        "import io.spine.validate.Validate;",
+                        "class Fix {",
+                        "  Error create(Error.Builder builder) {",
+                        "    Error error = builder.vBuild();",
+                        "    Validate.checkValid(error);",
+                        "    Validate.checkValid(builder.vBuild());",
+                        "    return error;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Fix.java",
+                        "import io.spine.base.Error;",
+                        "import io.spine.validate.Validate;",
+                        "class Fix {",
+                        "  Error create(Error.Builder builder) {",
+                        "    Error error = builder.vBuild();",
+                        "    builder.vBuild();",
+                        "    return error;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+}
@@ -30,6 +30,7 @@ import io.spine.testing.SlowTest;
 import io.spine.testing.logging.mute.MuteLogging;
 import io.spine.tools.mc.java.checks.gradle.given.StubProject;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -64,25 +65,61 @@ class McJavaChecksDependencyTest {
     void addToProject() {
         var project = stubProject.withMavenRepositories().get();
 
-        var applied = McJavaChecksDependency.addTo(project);
-        assertThat(applied)
-                .isTrue();
+        McJavaChecksDependency.addTo(project);
+        resolveAnnotationProcessor(project);
 
         assertThat(hasMcJavaChecksDependencyIn(project))
                 .isTrue();
     }
 
+    @Test
+    @DisplayName("not resolve the dependency when added to a project")
+    void notResolveWhenAdded() {
+        var project = stubProject.withMavenRepositories().get();
+
+        McJavaChecksDependency.addTo(project);
+
+        var config = configuration(project, annotationProcessor);
+        assertThat(config.getState())
+                .isEqualTo(Configuration.State.UNRESOLVED);
+        assertThat(hasMcJavaChecksDependencyIn(project))
+                .isFalse();
+    }
+
     @Test
     @DisplayName("not add Spine Java Checks dependency if it is not resolvable")
     @MuteLogging("Do not show the warning for missing dependency. It's assumed by this test.")
     void notAddIfNotResolvable() {
         var project = stubProject.get();
 
-        var applied = McJavaChecksDependency.addTo(project);
-        assertThat(applied).isFalse();
+        var added = McJavaChecksDependency.addTo(project);
+        resolveAnnotationProcessor(project);
 
         assertThat(hasMcJavaChecksDependencyIn(project))
                 .isFalse();
+        assertThat(added.get())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("tell if the dependency is added to the project")
+    void tellIfAdded() {
+        var project = stubProject.withMavenRepositories().get();
+
+        var added = McJavaChecksDependency.addTo(project);
+        resolveAnnotationProcessor(project);
+
+        assertThat(hasMcJavaChecksDependencyIn(project))
+                .isTrue();
+        assertThat(added.get())
+                .isTrue();
+    }
+
+    private static void resolveAnnotationProcessor(Project project) {
+        configuration(project, annotationProcessor)
+                .getIncoming()
+                .getResolutionResult()
+                .getAllDependencies();
     }
 
     private static boolean hasMcJavaChecksDependencyIn(Project project) {
@@ -51,7 +51,7 @@ class McJavaChecksSeverityTest {
     @BeforeEach
     void createProject() {
         project = StubProject.createFor(getClass()).get();
-        configurer = McJavaChecksSeverity.initFor(project);
+        configurer = McJavaChecksSeverity.initFor(project, project.provider(() -> true));
     }
 
     @SuppressWarnings({"CheckReturnValue", "ResultOfMethodCallIgnored"})
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.rebuild.given;
+
+import io.spine.base.Error;
+import io.spine.base.FieldPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains statements for which the {@link RebuildInLoop} bug pattern should
+ * generate no warning.
+ */
+class RebuildInLoopNegatives {
+
+    FieldPath builderHoisted(List<String> names) {
+        FieldPath.Builder builder = FieldPath.newBuilder();
+        for (String name : names) {
+            builder.addFieldName(name);
+        }
+        return builder.build();
+    }
+
+    FieldPath rebuildOutsideLoop(FieldPath path, String name) {
+        path = path.toBuilder().addFieldName(name).build();
+        return path;
+    }
+
+    List<FieldPath> buildNewMessages(List<FieldPath> paths) {
+        List<FieldPath> result = new ArrayList<>();
+        for (FieldPath path : paths) {
+            result.add(path.toBuilder().addFieldName("suffix").build());
+        }
+        return result;
+    }
+
+    List<FieldPath> rebuildVariableOfIteration(List<FieldPath> paths) {
+        List<FieldPath> result = new ArrayList<>();
+        for (FieldPath path : paths) {
+            FieldPath extended = path;
+            extended = extended.toBuilder().addFieldName("suffix").build();
+            result.add(extended);
+        }
+        return result;
+    }
+
+    FieldPath rebuildFromAnotherMessage(FieldPath base, List<String> names) {
+        FieldPath result = base;
+        for (String name : names) {
+            result = base.toBuilder().addFieldName(name).build();
+        }
+        return result;
+    }
+
+    Error validateFromAnotherMessage(Error base, List<String> messages) {
+        Error error = base;
+        for (String message : messages) {
+            error = base.toBuilder().setMessage(message).vBuild();
+        }
+        return error;
+    }
+
+    Error builderReassignedFromAnotherMessage(Error error, Error other, List<String> messages) {
+        Error.Builder builder = error.toBuilder();
+        for (String message : messages) {
+            builder = other.toBuilder();
+            error = builder.setMessage(message).vBuild();
+        }
+        return error;
+    }
+
+    void rebuildInLambda(FieldPath path, List<String> names) {
+        for (String name : names) {
+            Runnable action = () -> {
+                FieldPath local = path;
+                local = local.toBuilder().addFieldName(name).build();
+                local.getFieldNameCount();
+            };
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.rebuild.given;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import io.spine.base.Error;
+import io.spine.base.FieldPath;
+
+import java.util.List;
+
+/**
+ * Contains statements for which the {@link RebuildInLoop} bug pattern should return a match.
+ *
+ * <p>Comments in this file should not be modified as they serve as indicator for the
+ * {@link com.google.errorprone.CompilationTestHelper} Error Prone tool.
+ */
+class RebuildInLoopPositives {
+
+    private FieldPath path = FieldPath.getDefaultInstance();
+
+    FieldPath rebuildLocalInForEach(List<String> names) {
+        FieldPath result = FieldPath.getDefaultInstance();
+        for (String name : names) {
+            // BUG: Diagnostic contains: RebuildInLoop
+            result = result.toBuilder().addFieldName(name).build();
+        }
+        return result;
+    }
+
+    Struct rebuildInFor(List<String> keys) {
+        Struct struct = Struct.getDefaultInstance();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!keys.get(i).isEmpty()) {
+                // BUG: Diagnostic contains: RebuildInLoop
+                struct = struct.toBuilder()
+                               .putFields(keys.get(i), Value.getDefaultInstance())
+                               .build();
+            }
+        }
+        return struct;
+    }
+
+    void rebuildFieldInWhile(List<String> names) {
+        int i = 0;
+        while (i < names.size()) {
+            // BUG: Diagnostic contains: RebuildInLoop
+            path = (path.toBuilder().addFieldName(names.get(i))).build();
+            i++;
+        }
+    }
+
+    void rebuildFieldInDoWhile(List<String> names) {
+        int i = 0;
+        do {
+            // BUG: Diagnostic contains: RebuildInLoop
+            this.path = this.path.toBuilder().addFieldName(names.get(i)).build();
+            i++;
+        } while (i < names.size());
+    }
+
+    Error validateRebuiltInForEach(List<String> messages) {
+        Error error = Error.getDefaultInstance();
+        for (String message : messages) {
+            // BUG: Diagnostic contains: RebuildInLoop
+            error = error.toBuilder().setMessage(message).vBuild();
+        }
+        return error;
+    }
+
+    Error validateRebuiltInFor(int count) {
+        Error error = Error.getDefaultInstance();
+        for (int code = 0; code < count; code++) {
+            // BUG: Diagnostic contains: RebuildInLoop
+            error = error.toBuilder()
+                         .setCode(code)
+                         .vBuild();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.validation.given;
+
+import io.spine.base.Error;
+
+import java.util.List;
+
+import static io.spine.validate.Validate.checkValid;
+
+/**
+ * Contains statements for which the {@link RedundantValidation} bug pattern should
+ * generate no warning.
+ */
+class RedundantValidationNegatives {
+
+    void validateOnce(Error error) {
+        checkValid(error);
+    }
+
+    void validateBuiltPartially(Error.Builder builder) {
+        Error error = builder.build();
+        checkValid(error);
+    }
+
+    void validateReassigned(Error.Builder builder, Error other) {
+        Error error = builder.vBuild();
+        error = other;
+        checkValid(error);
+    }
+
+    void validateAfterBranch(Error.Builder builder, Error other, boolean flag) {
+        Error error = builder.vBuild();
+        if (flag) {
+            error = other;
+        }
+        checkValid(error);
+    }
+
+    void validateBuiltInBranch(Error.Builder builder, Error error, boolean flag) {
+        if (flag) {
+            error = builder.vBuild();
+        }
+        checkValid(error);
+    }
+
+    void validateReassignedInLoop(Error.Builder builder, List<Error> errors) {
+        Error error = builder.vBuild();
+        for (Error next : errors) {
+            checkValid(error);
+            error = next;
+        }
+    }
+
+    void validateInLambda(List<Error> errors) {
+        errors.forEach(error -> checkValid(error));
+    }
+
+    void validateInSeparateCases(Error error, int kind) {
+        switch (kind) {
+            case 1:
+                checkValid(error);
+                break;
+            case 2:
+                checkValid(error);
+                break;
+            default:
+                break;
+        }
+    }
+
+    void validateInTryAndCatch(Error error, Runnable action) {
+        try {
+            action.run();
+            checkValid(error);
+        } catch (IllegalStateException e) {
+            checkValid(error);
+        }
+    }
+
+    void validateInTryAndFinally(Error error, Runnable action) {
+        try {
+            action.run();
+            checkValid(error);
+        } finally {
+            checkValid(error);
+        }
+    }
+}
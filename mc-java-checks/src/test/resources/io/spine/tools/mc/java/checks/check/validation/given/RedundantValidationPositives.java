@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.checks.check.validation.given;
+
+import io.spine.base.Error;
+import io.spine.validate.Validate;
+
+import java.util.List;
+
+import static io.spine.validate.Validate.checkValid;
+
+/**
+ * Contains statements for which the {@link RedundantValidation} bug pattern should
+ * return a match.
+ *
+ * <p>Comments in this file should not be modified as they serve as indicator for the
+ * {@link com.google.errorprone.CompilationTestHelper} Error Prone tool.
+ */
+class RedundantValidationPositives {
+
+    Error validateBuilt(Error.Builder builder) {
+        Error error = builder.vBuild();
+        // BUG: Diagnostic contains: RedundantValidation
+        Validate.checkValid(error);
+        return error;
+    }
+
+    Error validateAssigned(Error.Builder builder) {
+        Error error;
+        error = builder.vBuild();
+        // BUG: Diagnostic contains: RedundantValidation
+        checkValid(error);
+        return error;
+    }
+
+    void validateBuildResult(Error.Builder builder) {
+        // BUG: Diagnostic contains: RedundantValidation
+        checkValid(builder.vBuild());
+    }
+
+    void validateTwice(Error error) {
+        checkValid(error);
+        // BUG: Diagnostic contains: RedundantValidation
+        checkValid(error);
+    }
+
+    void validateInBranch(Error.Builder builder, boolean flag) {
+        Error error = builder.vBuild();
+        if (flag) {
+            // BUG: Diagnostic contains: RedundantValidation
+            checkValid(error);
+        }
+    }
+
+    void validateTwiceInCase(Error error, int kind) {
+        switch (kind) {
+            case 1:
+                checkValid(error);
+                // BUG: Diagnostic contains: RedundantValidation
+                checkValid(error);
+                break;
+            default:
+                break;
+        }
+    }
+
+    void validateInCatchAfterValidation(Error error, Runnable action) {
+        checkValid(error);
+        try {
+            action.run();
+        } catch (IllegalStateException e) {
+            // BUG: Diagnostic contains: RedundantValidation
+            checkValid(error);
+        }
+    }
+
+    void validateInLoop(Error.Builder builder, List<String> messages) {
+        Error error = builder.vBuild();
+        for (String message : messages) {
+            // BUG: Diagnostic contains: RedundantValidation
+            checkValid(error);
+        }
+    }
+}
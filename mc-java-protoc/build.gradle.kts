@@ -24,9 +24,14 @@
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
+import com.google.protobuf.gradle.generateProtoTasks
+import com.google.protobuf.gradle.proto
+import com.google.protobuf.gradle.protobuf
 import io.spine.internal.dependency.JavaPoet
 import io.spine.internal.dependency.JavaX
 import io.spine.internal.dependency.Spine
+import io.spine.internal.gradle.jmh.jmhBenchmarks
+import io.spine.internal.gradle.protobuf.GenerateSyntheticProtos
 
 dependencies {
     implementation(gradleApi())
@@ -42,6 +47,61 @@ dependencies {
     testImplementation(spine.pluginTestlib)
 }
 
+/**
+ * The JMH benchmarks of the code generators.
+ *
+ * Run them with `./gradlew :mc-java-protoc:jmh`.
+ * Pass JMH options via the `jmhArgs` property, e.g. `-PjmhArgs="-p generator=all GeneratorBenchmark"`.
+ */
+val jmh = jmhBenchmarks("Runs the JMH benchmarks of the `protoc` plugin code generators.")
+
+dependencies {
+    val spine = Spine(project)
+    jmh.implementationConfigurationName(spine.base)
+}
+
+/*
+ * The synthetic model processed by the benchmarks.
+ *
+ * It is the model of the `scaling` project of the `tests` build, sized by the same properties,
+ * e.g. `-PsyntheticFiles=500 -PsyntheticMessages=20`. The benchmarks need only the descriptors
+ * of the model, so the model is compiled into a descriptor set put into the `jmh` resources.
+ */
+val syntheticFiles: String? by project
+val syntheticMessages: String? by project
+val syntheticFields: String? by project
+
+val generateSyntheticProtos by tasks.registering(GenerateSyntheticProtos::class) {
+    description = "Generates the `.proto` files of the synthetic model."
+    files.set(syntheticFiles?.toInt() ?: 10)
+    messagesPerFile.set(syntheticMessages?.toInt() ?: 5)
+    fieldsPerMessage.set(syntheticFields?.toInt() ?: 10)
+    outputDir.set(layout.buildDirectory.dir("synthetic-proto"))
+}
+
+val syntheticDescriptors = "$buildDir/descriptors/${jmh.name}"
+
+jmh.proto {
+    srcDir(generateSyntheticProtos)
+}
+jmh.resources.srcDir(syntheticDescriptors)
+
+protobuf {
+    generateProtoTasks {
+        ofSourceSet(jmh.name).forEach { task ->
+            task.builtins {
+                remove("java")
+            }
+            task.generateDescriptorSet = true
+            with(task.descriptorSetOptions) {
+                path = "$syntheticDescriptors/synthetic.desc"
+                includeImports = true
+            }
+            tasks[jmh.processResourcesTaskName].dependsOn(task)
+        }
+    }
+}
+
 tasks.jar {
     //TODO:2021-08-01:alexander.yevsyukov: Replace the below dependencies with output of `jar` tasks
     // instead. See:
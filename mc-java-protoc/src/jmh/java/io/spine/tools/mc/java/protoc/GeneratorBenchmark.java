@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import io.spine.base.CommandMessage;
+import io.spine.base.EntityState;
+import io.spine.base.EventMessage;
+import io.spine.base.EventMessageField;
+import io.spine.base.RejectionMessage;
+import io.spine.base.UuidValue;
+import io.spine.option.OptionsProto;
+import io.spine.query.EntityStateField;
+import io.spine.tools.java.code.UuidMethodFactory;
+import io.spine.tools.mc.java.codegen.AddInterface;
+import io.spine.tools.mc.java.codegen.CodegenOptions;
+import io.spine.tools.mc.java.codegen.Entities;
+import io.spine.tools.mc.java.codegen.GenerateFields;
+import io.spine.tools.mc.java.codegen.MethodFactoryName;
+import io.spine.tools.mc.java.codegen.Signals;
+import io.spine.tools.mc.java.codegen.Uuids;
+import io.spine.tools.mc.java.protoc.column.ColumnGen;
+import io.spine.tools.mc.java.protoc.field.FieldGen;
+import io.spine.tools.mc.java.protoc.message.BuilderGen;
+import io.spine.tools.mc.java.protoc.message.InterfaceGen;
+import io.spine.tools.mc.java.protoc.message.NestedClassGen;
+import io.spine.tools.mc.java.protoc.method.MethodGen;
+import io.spine.tools.mc.java.protoc.query.EntityQueryGen;
+import io.spine.tools.proto.code.ProtoOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.base.MessageFile.COMMANDS;
+import static io.spine.base.MessageFile.EVENTS;
+import static io.spine.base.MessageFile.REJECTIONS;
+import static io.spine.tools.java.code.Names.className;
+import static io.spine.tools.mc.java.gradle.codegen.FilePatterns.fileSuffix;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Measures the throughput of the code generation performed by the {@code protoc} plugin.
+ *
+ * <p>The generators process requests to generate code for a {@link SyntheticModel}.
+ * The code generation options follow the conventions applied by the Model Compiler
+ * Gradle plugin by default.
+ *
+ * <p>The size of the model is set by the build properties, e.g.
+ * {@code ./gradlew :mc-java-protoc:jmh -PsyntheticFiles=100 -PsyntheticMessages=20}.
+ *
+ * <p>The {@link #generator} parameter selects either all the generators of the plugin
+ * composed together, or one of them. The generated files are streamed into a black hole
+ * without building a response.
+ *
+ * <p>As the plugin does, each request is processed by a new generator, so that no state is
+ * carried over between the requests. The generator is created outside of the measured code.
+ *
+ * <p>Run with {@code ./gradlew :mc-java-protoc:jmh}. The allocation rate is reported by
+ * the GC profiler enabled by the task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private static final String ALL = "all";
+
+    @Param({ALL, "InterfaceGen", "MethodGen", "BuilderGen", "NestedClassGen",
+            "ColumnGen", "EntityQueryGen", "FieldGen"})
+    private String generator;
+
+    private CodeGenerator codeGenerator;
+    private CodeGeneratorRequest request;
+
+    @Setup
+    public void setUp() {
+        request = SyntheticModel.request();
+    }
+
+    @Setup(Level.Invocation)
+    public void createGenerator() {
+        codeGenerator = generator(conventionalOptions());
+    }
+
+    @Benchmark
+    public void process(Blackhole blackhole) {
+        codeGenerator.process(request, blackhole::consume);
+    }
+
+    private CodeGenerator generator(CodegenOptions config) {
+        switch (generator) {
+            case ALL:
+                return Plugin.generatorFor(config);
+            case "InterfaceGen":
+                return InterfaceGen.instance(config);
+            case "MethodGen":
+                return MethodGen.instance(config);
+            case "BuilderGen":
+                return BuilderGen.instance(config);
+            case "NestedClassGen":
+                return NestedClassGen.instance(config);
+            case "ColumnGen":
+                return ColumnGen.instance(config);
+            case "EntityQueryGen":
+                return EntityQueryGen.instance(config);
+            case "FieldGen":
+                return FieldGen.instance(config);
+            default:
+                throw newIllegalArgumentException("Unknown generator `%s`.", generator);
+        }
+    }
+
+    /**
+     * Creates the code generation options similar to the ones used by
+     * the Model Compiler Gradle plugin by default.
+     */
+    private static CodegenOptions conventionalOptions() {
+        var entityOption = ProtoOption.newBuilder()
+                .setName(OptionsProto.entity.getDescriptor().getName());
+        var entities = Entities.newBuilder()
+                .addOption(entityOption)
+                .addAddInterface(addInterface(EntityState.class))
+                .setGenerateFields(generateFields(EntityStateField.class))
+                .setGenerateQueries(true);
+        var uuids = Uuids.newBuilder()
+                .addAddInterface(addInterface(UuidValue.class))
+                .addMethodFactory(MethodFactoryName.newBuilder()
+                                          .setClassName(className(UuidMethodFactory.class)));
+        var eventFields = generateFields(EventMessageField.class);
+        return CodegenOptions.newBuilder()
+                .setCommands(Signals.newBuilder()
+                                     .addPattern(fileSuffix(COMMANDS.suffix()))
+                                     .addAddInterface(addInterface(CommandMessage.class)))
+                .setEvents(Signals.newBuilder()
+                                   .addPattern(fileSuffix(EVENTS.suffix()))
+                                   .addAddInterface(addInterface(EventMessage.class))
+                                   .setGenerateFields(eventFields))
+                .setRejections(Signals.newBuilder()
+                                       .addPattern(fileSuffix(REJECTIONS.suffix()))
+                                       .addAddInterface(addInterface(RejectionMessage.class))
+                                       .setGenerateFields(eventFields))
+                .setEntities(entities)
+                .setUuids(uuids)
+                .build();
+    }
+
+    private static AddInterface addInterface(Class<?> cls) {
+        return AddInterface.newBuilder()
+                .setName(className(cls))
+                .build();
+    }
+
+    private static GenerateFields generateFields(Class<?> superclass) {
+        return GenerateFields.newBuilder()
+                .setSuperclass(className(superclass))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.io.Resources;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.Version;
+import io.spine.code.proto.OptionExtensionRegistry;
+
+import java.io.IOException;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A generated model of Protobuf types of a configurable size.
+ *
+ * <p>The model is the corpus of proto files written by the {@code GenerateSyntheticProtos}
+ * task of {@code buildSrc}. The same corpus is compiled by the {@code scaling} project of
+ * the {@code tests} build, so the benchmarks and the scaling tests process the same types.
+ * The size of the model is defined by the {@code syntheticFiles}, {@code syntheticMessages},
+ * and {@code syntheticFields} properties of the build.
+ *
+ * <p>The build compiles the corpus into a descriptor set which includes the imported files,
+ * and puts it into the resources of the benchmarks.
+ */
+final class SyntheticModel {
+
+    private static final String DESCRIPTOR_SET = "synthetic.desc";
+    private static final String MODEL_DIR = "spine/tools/synthetic/";
+
+    /** Prevents instantiation of this utility class. */
+    private SyntheticModel() {
+    }
+
+    /**
+     * Creates a request to generate code for all the files of the model.
+     */
+    static CodeGeneratorRequest request() {
+        var descriptors = descriptorSet();
+        var request = CodeGeneratorRequest.newBuilder()
+                .setCompilerVersion(Version.newBuilder().setMajor(3));
+        for (var file : descriptors.getFileList()) {
+            request.addProtoFile(file);
+            if (file.getName().startsWith(MODEL_DIR)) {
+                request.addFileToGenerate(file.getName());
+            }
+        }
+        return request.build();
+    }
+
+    private static FileDescriptorSet descriptorSet() {
+        var resource = Resources.getResource(SyntheticModel.class, '/' + DESCRIPTOR_SET);
+        try {
+            var bytes = Resources.toByteArray(resource);
+            return FileDescriptorSet.parseFrom(bytes, OptionExtensionRegistry.instance());
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -38,4 +38,13 @@ public interface CodeGenerationTask {
      * Generates code for the supplied {@code type}.
      */
     ImmutableList<CompilerOutput> generateFor(MessageType type);
+
+    /**
+     * Obtains the name of the task used in the {@linkplain PerformanceReport performance report}.
+     *
+     * <p>By default, it is the simple name of the task class.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
@@ -43,6 +43,13 @@ public final class CodeGenerationTasks {
         this.tasks = checkNotNull(tasks);
     }
 
+    /**
+     * Tells if there are no tasks in this container.
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
     /**
      * Generates code for the supplied {@code type} using all configured {@code tasks}.
      */
@@ -51,7 +58,7 @@ public final class CodeGenerationTasks {
         ImmutableList.Builder<CompilerOutput> result = ImmutableList.builder();
         try {
             for (var task : tasks) {
-                var output = task.generateFor(type);
+                var output = PerformanceReport.measureTask(task, () -> task.generateFor(type));
                 result.addAll(output);
             }
             return result.build();
@@ -26,6 +26,7 @@
 
 package io.spine.tools.mc.java.protoc;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.DescriptorProtos.DescriptorProto;
 import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
@@ -39,18 +40,11 @@ import io.spine.tools.type.MoreKnownTypes;
 import io.spine.type.Type;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
-import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.partitioningBy;
-import static java.util.stream.Collectors.reducing;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * An abstract base for the Protobuf to Java code generator.
@@ -109,16 +103,40 @@ public abstract class CodeGenerator {
      * @see #generate Javadoc for generate(...) for more detailed description
      */
     public final CodeGeneratorResponse process(CodeGeneratorRequest request) {
+        var response = CodeGeneratorResponse.newBuilder();
+        process(request, response::addFile);
+        return response.build();
+    }
+
+    /**
+     * Processes the given compiler request and passes the files of the response to
+     * the given consumer.
+     *
+     * <p>The files are passed as soon as the code generated for a type is assembled, so that
+     * the consumer could write them out without holding the whole response in memory.
+     *
+     * <p>Passing the files to a {@link CodeGeneratorResponse.Builder#addFile(File)
+     * CodeGeneratorResponse.Builder} results in the same response as
+     * {@link #process(CodeGeneratorRequest)} does.
+     *
+     * @param request
+     *         the compiler request
+     * @param files
+     *         the consumer of the response files
+     */
+    public final void process(CodeGeneratorRequest request, Consumer<File> files) {
         checkNotNull(request);
+        checkNotNull(files);
         checkNotEmpty(request);
         checkCompilerVersion(request);
         var fileSet = FileSet.of(request.getProtoFileList());
-        MoreKnownTypes.extendWith(fileSet);
+        synchronized (MoreKnownTypes.class) {
+            MoreKnownTypes.extendWith(fileSet);
+        }
         var requestedFileNames = toFileNames(request);
         var requestedFiles = fileSet.find(requestedFileNames);
         var typeSet = TypeSet.from(requestedFiles);
-        var response = process(typeSet);
-        return response;
+        process(typeSet, files);
     }
 
     private static ImmutableSet<FileName> toFileNames(CodeGeneratorRequest request) {
@@ -139,6 +157,9 @@ public abstract class CodeGenerator {
      *     <li>contain extra types to generate for the given message declaration.
      * </ul>
      *
+     * <p>The method is called only for the types to which the generator
+     * {@linkplain #appliesTo(Type) applies}, so implementations do not check it again.
+     *
      * @param type
      *         the Protobuf type to process
      * @return optionally a {@link Collection} of {@linkplain CompilerOutput CompilerOutputs}
@@ -151,79 +172,65 @@ public abstract class CodeGenerator {
      */
     protected abstract Collection<CompilerOutput> generate(Type<?, ?> type);
 
-    private static void checkNotEmpty(CodeGeneratorRequest request)
-            throws IllegalArgumentException {
-        checkArgument(request.getFileToGenerateCount() > 0, "No files to generate provided.");
-    }
-
     /**
-     * Processes all passed proto files.
+     * Tells if this generator may produce code for the given type.
+     *
+     * <p>The {@link CompositeGenerator} does not ask a generator to {@linkplain #generate
+     * generate} code for the types to which the generator does not apply.
+     *
+     * <p>The default implementation returns {@code true}.
      */
-    private CodeGeneratorResponse process(TypeSet types) {
-        var rawOutput = generate(types);
-        Collection<File> mergedFiles = mergeFiles(rawOutput);
-        var response = CodeGeneratorResponse.newBuilder()
-                .addAllFile(mergedFiles)
-                .build();
-        return response;
+    protected boolean appliesTo(Type<?, ?> type) {
+        return true;
     }
 
     /**
-     * Generates code for the supplied types.
+     * Prepares this generator for processing of the given types.
+     *
+     * <p>The method is called once per compiler request, before the code is generated for
+     * any of the types. The default implementation does nothing.
      */
-    private Set<CompilerOutput> generate(TypeSet types) {
-        return types.allTypes()
-                    .stream()
-                    .map(this::generate)
-                    .flatMap(Collection::stream)
-                    .collect(toSet());
+    protected void prepare(TypeSet types) {
+        // Do nothing by default.
     }
 
     /**
-     * Ensures that the version of the Google Protobuf Compiler is 3.* or higher.
+     * Generates the code for the given type if the generator {@linkplain #appliesTo(Type)
+     * applies} to it.
+     *
+     * <p>This is the only place which checks if a generator applies to a type before
+     * {@linkplain #generate(Type) generating} the code for it.
      */
-    private void checkCompilerVersion(CodeGeneratorRequest request) {
-        var version = request.getCompilerVersion();
-        checkArgument(version.getMajor() >= 3,
-                      "Please use `protoc` of version 3.* or higher to run `%s`.",
-                      getClass().getName());
+    Collection<CompilerOutput> generateIfApplies(Type<?, ?> type) {
+        return appliesTo(type)
+               ? generate(type)
+               : ImmutableList.of();
     }
 
-    private static List<File> mergeFiles(Collection<CompilerOutput> allFiles) {
-        var partitionedFiles = allFiles.stream()
-                .map(CompilerOutput::asFile)
-                .collect(partitioningBy(File::hasInsertionPoint));
-        var insertionPoints = mergeInsertionPoints(partitionedFiles.get(true));
-        var completeFiles = partitionedFiles.get(false);
-
-        List<File> merged = newArrayListWithExpectedSize(allFiles.size());
-        merged.addAll(insertionPoints);
-        merged.addAll(completeFiles);
-
-        return merged;
+    private static void checkNotEmpty(CodeGeneratorRequest request)
+            throws IllegalArgumentException {
+        checkArgument(request.getFileToGenerateCount() > 0, "No files to generate provided.");
     }
 
-    private static List<File> mergeInsertionPoints(Collection<File> insertionPoints) {
-        var emptyFile = File.getDefaultInstance();
-        var merged = insertionPoints.stream()
-                .collect(groupingBy(File::getInsertionPoint, reducing(CodeGenerator::joinContent)))
-                .values()
-                .stream()
-                .map(file -> file.orElse(emptyFile))
-                .collect(toList());
-        return merged;
+    /**
+     * Processes all passed proto files.
+     */
+    private void process(TypeSet types, Consumer<File> consumer) {
+        prepare(types);
+        var files = new FileAssembler(consumer);
+        for (var type : types.allTypes()) {
+            generateIfApplies(type).forEach(files::add);
+            files.flush();
+        }
     }
 
     /**
-     * Reduces two {@code File}s to one by joining their content.
-     *
-     * <p>The resulting file is the copy of the first ({@code left}) file, except that its content
-     * is appended with the content of the second ({@code right}) file. There is a new line symbol
-     * between the contents of the {@code left} and the {@code right} file.
+     * Ensures that the version of the Google Protobuf Compiler is 3.* or higher.
      */
-    private static File joinContent(File left, File right) {
-        return left.toBuilder()
-                .setContent(left.getContent() + System.lineSeparator() + right.getContent())
-                .build();
+    private void checkCompilerVersion(CodeGeneratorRequest request) {
+        var version = request.getCompilerVersion();
+        checkArgument(version.getMajor() >= 3,
+                      "Please use `protoc` of version 3.* or higher to run `%s`.",
+                      getClass().getName());
     }
 }
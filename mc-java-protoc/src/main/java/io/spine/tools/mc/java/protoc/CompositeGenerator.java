@@ -27,18 +27,35 @@
 package io.spine.tools.mc.java.protoc;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableMap;
+import io.spine.code.proto.TypeSet;
+import io.spine.logging.Logging;
 import io.spine.type.Type;
+import io.spine.type.TypeName;
+
+import java.util.Collection;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.flogger.LazyArgs.lazy;
+import static java.util.stream.Collectors.joining;
 
 /**
  * A generator which calls other generators and merges their results.
+ *
+ * <p>Before processing a compiler request, the generator plans which of the composed generators
+ * {@linkplain CodeGenerator#appliesTo(Type) apply} to each of the requested types. Then
+ * the types are passed only to the generators planned for them. The plan is logged on
+ * the debug level.
  */
-public final class CompositeGenerator extends CodeGenerator {
+public final class CompositeGenerator extends CodeGenerator implements Logging {
+
+    private final ImmutableList<CodeGenerator> generators;
 
-    private final ImmutableList<? extends CodeGenerator> generators;
+    /**
+     * The generators applicable to the types of the current request, by the type name.
+     */
+    private ImmutableMap<TypeName, ImmutableList<CodeGenerator>> plan = ImmutableMap.of();
 
     public static CompositeGenerator of(CodeGenerator... gen) {
         checkNotNull(gen);
@@ -52,10 +69,71 @@ public final class CompositeGenerator extends CodeGenerator {
     }
 
     @Override
-    protected ImmutableSet<CompilerOutput> generate(Type<?, ?> type) {
-        var output = generators.stream()
-                .flatMap(gen -> gen.generate(type).stream())
-                .collect(toImmutableSet());
-        return output;
+    protected void prepare(TypeSet types) {
+        generators.forEach(gen -> gen.prepare(types));
+        var plan = ImmutableMap.<TypeName, ImmutableList<CodeGenerator>>builder();
+        for (var type : types.allTypes()) {
+            plan.put(type.name(), applicableTo(type));
+        }
+        this.plan = plan.buildKeepingLast();
+        _debug().log("Generation plan for %d types: %s.",
+                     this.plan.size(), lazy(() -> describe(this.plan)));
+    }
+
+    @Override
+    protected ImmutableList<CompilerOutput> generate(Type<?, ?> type) {
+        var planned = plan.get(type.name());
+        var applicable = planned != null ? planned : applicableTo(type);
+        if (applicable.isEmpty()) {
+            return ImmutableList.of();
+        }
+        var output = ImmutableList.<CompilerOutput>builder();
+        for (var gen : applicable) {
+            output.addAll(PerformanceReport.measureGenerator(gen, () -> gen.generate(type)));
+        }
+        return output.build();
+    }
+
+    /**
+     * Generates the code for the given type by the composed generators
+     * {@linkplain #prepare(TypeSet) planned} for it.
+     *
+     * <p>The applicability of the composed generators is already checked by the plan,
+     * so it is not checked again.
+     */
+    @Override
+    Collection<CompilerOutput> generateIfApplies(Type<?, ?> type) {
+        return generate(type);
+    }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return generators.stream()
+                         .anyMatch(gen -> gen.appliesTo(type));
+    }
+
+    private ImmutableList<CodeGenerator> applicableTo(Type<?, ?> type) {
+        return generators.stream()
+                         .filter(gen -> gen.appliesTo(type))
+                         .collect(toImmutableList());
+    }
+
+    /**
+     * Describes the given plan as the number of types per generator.
+     */
+    private String describe(ImmutableMap<TypeName, ImmutableList<CodeGenerator>> plan) {
+        return generators.stream()
+                         .distinct()
+                         .map(gen -> gen.getClass().getSimpleName() + " -> "
+                                 + countTypes(plan, gen))
+                         .collect(joining(", "));
+    }
+
+    private static long countTypes(ImmutableMap<TypeName, ImmutableList<CodeGenerator>> plan,
+                                   CodeGenerator gen) {
+        return plan.values()
+                   .stream()
+                   .filter(generators -> generators.contains(gen))
+                   .count();
     }
 }
@@ -26,17 +26,25 @@
 
 package io.spine.tools.mc.java.protoc;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
 import io.spine.logging.Logging;
 import io.spine.tools.java.code.Classpath;
 import org.checkerframework.checker.signature.qual.FullyQualifiedName;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.newIllegalArgumentException;
 import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
 
@@ -44,25 +52,168 @@ import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
  * A utility for instantiating a particular class from its {@linkplain FullyQualifiedName FQN}
  * using the specified classpath.
  *
+ * <p>All the loaders created for the same classpath within a code generation run share the same
+ * underlying class loader, so that the classpath is opened only once per run. Each loader also
+ * resolves a class by its name only once.
+ *
+ * <p>A run is a group of the loaders created {@linkplain #inRun in the scope} of the same run ID.
+ * The loaders created outside of any scope belong to the default run. The class loaders of a run
+ * are kept until the run is {@linkplain #releaseLoaders(String) released}. Releasing a run also
+ * drops the class instances its loaders keep for each thread. It is up to the caller to release
+ * a run once all of its loaders are no longer used. In a long-lived JVM, such as the Gradle daemon,
+ * a run which is never released keeps its classpath open until the JVM exits.
+ *
  * @param <T>
  *         the loaded class
  */
 public final class ExternalClassLoader<T> implements Logging {
 
+    private static final FluentLogger log = FluentLogger.forEnclosingClass();
+
+    /**
+     * The ID of the run to which the loaders created outside of any scope belong.
+     */
+    private static final String DEFAULT_RUN = "";
+
+    /**
+     * The class loaders created for the classpaths, by the run ID and the list of
+     * the classpath entries.
+     */
+    private static final Map<String, Map<ImmutableList<String>, URLClassLoader>> loaders =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The loaders created in a run, by the run ID.
+     */
+    private static final Map<String, Set<ExternalClassLoader<?>>> runLoaders =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The ID of the run in which the current thread creates the loaders.
+     */
+    private static final ThreadLocal<String> currentRun =
+            ThreadLocal.withInitial(() -> DEFAULT_RUN);
+
     private final ClassLoader classLoader;
     private final Class<T> loadedClass;
+    private final Map<String, Class<T>> classes = new ConcurrentHashMap<>();
+
+    /**
+     * The class instances of all the threads which used this loader.
+     */
+    private final Set<Map<String, T>> threadInstances = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Map<String, T>> instances =
+            ThreadLocal.withInitial(this::newThreadInstances);
 
     public ExternalClassLoader(Classpath classpath, Class<T> loadedClass) {
-        this.classLoader = classLoader(classpath);
+        var entries = ImmutableList.copyOf(classpath.getJarList());
+        var run = currentRun.get();
+        this.classLoader = loaders.computeIfAbsent(run, r -> new ConcurrentHashMap<>())
+                                  .computeIfAbsent(entries, ExternalClassLoader::classLoader);
         this.loadedClass = loadedClass;
+        runLoaders.computeIfAbsent(run, r -> ConcurrentHashMap.newKeySet())
+                  .add(this);
+    }
+
+    /**
+     * Performs the given action, so that the loaders it creates belong to the run with
+     * the given ID.
+     */
+    static <R> R inRun(String runId, Supplier<R> action) {
+        checkNotNull(runId);
+        checkNotNull(action);
+        var previous = currentRun.get();
+        currentRun.set(runId);
+        try {
+            return action.get();
+        } finally {
+            if (DEFAULT_RUN.equals(previous)) {
+                currentRun.remove();
+            } else {
+                currentRun.set(previous);
+            }
+        }
     }
 
+    /**
+     * Closes the class loaders of the run with the given ID.
+     *
+     * <p>The class instances kept by the loaders of the run are dropped for all the threads,
+     * so that the threads outliving the run, such as the Gradle worker threads, do not hold
+     * the closed class loaders.
+     *
+     * <p>The loaders created in the run after this call open the classpath anew, picking up
+     * the changes in the classpath entries. The loaders created in the run before this call must
+     * not be used after it.
+     */
+    static void releaseLoaders(String runId) {
+        checkNotNull(runId);
+        var members = runLoaders.remove(runId);
+        if (members != null) {
+            members.forEach(ExternalClassLoader::releaseInstances);
+        }
+        var released = loaders.remove(runId);
+        if (released != null) {
+            released.values()
+                    .forEach(ExternalClassLoader::close);
+        }
+    }
+
+    /**
+     * Closes the class loaders of the default run.
+     *
+     * @see #releaseLoaders(String)
+     */
+    static void releaseLoaders() {
+        releaseLoaders(DEFAULT_RUN);
+    }
+
+    private Map<String, T> newThreadInstances() {
+        Map<String, T> result = new ConcurrentHashMap<>();
+        threadInstances.add(result);
+        return result;
+    }
+
+    private void releaseInstances() {
+        threadInstances.forEach(Map::clear);
+        threadInstances.clear();
+        instances.remove();
+    }
+
+    private static void close(URLClassLoader loader) {
+        try {
+            loader.close();
+        } catch (IOException e) {
+            log.atWarning()
+               .withCause(e)
+               .log("Unable to close the class loader of `%s`.",
+                    ImmutableList.copyOf(loader.getURLs()));
+        }
+    }
+
+    /**
+     * Creates a new instance of the class with the given name.
+     */
     public T newInstance(@FullyQualifiedName String className) {
         checkNotEmptyOrBlank(className);
         var result = from(className);
         return result;
     }
 
+    /**
+     * Obtains an instance of the class with the given name.
+     *
+     * <p>The instance is created on the first request and then reused for the subsequent
+     * requests made from the same thread. Since the instances are not shared between threads,
+     * the class is not required to be thread-safe.
+     */
+    public T instanceOf(@FullyQualifiedName String className) {
+        checkNotEmptyOrBlank(className);
+        var result = instances.get()
+                              .computeIfAbsent(className, this::from);
+        return result;
+    }
+
     /**
      * Instantiates the class defined by the specified fully-qualified name.
      */
@@ -79,8 +230,12 @@ public final class ExternalClassLoader<T> implements Logging {
         }
     }
 
-    @SuppressWarnings("unchecked") // The class is already checked to be assignable during the cast.
     private Class<T> loadClass(String fqn) {
+        return classes.computeIfAbsent(fqn, this::resolveClass);
+    }
+
+    @SuppressWarnings("unchecked") // The class is already checked to be assignable during the cast.
+    private Class<T> resolveClass(String fqn) {
         var factory = classByFqn(fqn);
         if (loadedClass.isAssignableFrom(factory)) {
             return (Class<T>) factory;
@@ -100,16 +255,15 @@ public final class ExternalClassLoader<T> implements Logging {
         }
     }
 
-    private static ClassLoader classLoader(Classpath factoryClasspath) {
+    private static URLClassLoader classLoader(ImmutableList<String> classpath) {
         var currentClassLoader = Thread.currentThread().getContextClassLoader();
-        var classPathUrls = classPathUrls(factoryClasspath);
+        var classPathUrls = classPathUrls(classpath);
         var loader = URLClassLoader.newInstance(classPathUrls, currentClassLoader);
         return loader;
     }
 
-    private static URL[] classPathUrls(Classpath classpath) {
+    private static URL[] classPathUrls(ImmutableList<String> classpath) {
         return classpath
-                .getJarList()
                 .stream()
                 .map(File::new)
                 .map(File::toURI)
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.hash.HashCode;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.hash.Hashing.sha256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Assembles the files of the {@code CodeGeneratorResponse} from the outputs of the generators.
+ *
+ * <p>The outputs targeting the same insertion point of the same file are joined into one file,
+ * in the order they were {@linkplain #add(CompilerOutput) added}. The content of such a file is
+ * accumulated in a single buffer, and the file is built only when the assembler is
+ * {@linkplain #flush() flushed}. Identical snippets for the same insertion point are included
+ * only once, even if they are added after a flush.
+ *
+ * <p>The outputs without an insertion point are passed to the consumer of the files right away,
+ * with duplicates removed.
+ *
+ * <p>The assembler keeps only the hashes of the content already passed to the consumer, so that
+ * the generated code may be released as soon as it is written.
+ */
+final class FileAssembler {
+
+    private final Consumer<File> consumer;
+    private final Map<Map.Entry<String, String>, InsertionPointContent> insertions =
+            new LinkedHashMap<>();
+    private final Set<HashCode> completeFiles = new HashSet<>();
+
+    /**
+     * The insertion points which received content since the previous flush, in the order
+     * they received it first.
+     */
+    private final Set<InsertionPointContent> pending = new LinkedHashSet<>();
+
+    /**
+     * Creates a new assembler passing the assembled files to the given consumer.
+     */
+    FileAssembler(Consumer<File> consumer) {
+        this.consumer = checkNotNull(consumer);
+    }
+
+    /**
+     * Adds the given output to the assembled files.
+     */
+    void add(CompilerOutput output) {
+        checkNotNull(output);
+        var file = output.asFile();
+        if (!file.hasInsertionPoint()) {
+            var hash = sha256().hashBytes(file.toByteArray());
+            if (completeFiles.add(hash)) {
+                consumer.accept(file);
+            }
+            return;
+        }
+        var key = Map.entry(file.getName(), file.getInsertionPoint());
+        var content = insertions.computeIfAbsent(key, k -> new InsertionPointContent(file));
+        content.append(file.getContent());
+        pending.add(content);
+    }
+
+    /**
+     * Passes the content collected for the insertion points since the previous flush to
+     * the consumer of the files.
+     *
+     * <p>Only the insertion points which received content since the previous flush are
+     * visited, so that the cost of a flush does not grow with the number of the insertion points
+     * collected so far.
+     */
+    void flush() {
+        pending.forEach(content -> content.flushTo(consumer));
+        pending.clear();
+    }
+
+    /**
+     * The content collected for one insertion point of a file.
+     */
+    private static final class InsertionPointContent {
+
+        private static final String SEPARATOR = System.lineSeparator();
+
+        /**
+         * The file with the name and the insertion point of the assembled files.
+         */
+        private final File template;
+        private final Set<HashCode> snippets = new HashSet<>();
+        private StringBuilder content = new StringBuilder();
+
+        private InsertionPointContent(File first) {
+            this.template = first.toBuilder()
+                                 .clearContent()
+                                 .build();
+        }
+
+        private void append(String snippet) {
+            var hash = sha256().hashString(snippet, UTF_8);
+            if (!snippets.add(hash)) {
+                return;
+            }
+            if (content.length() > 0) {
+                content.append(SEPARATOR);
+            }
+            content.append(snippet);
+        }
+
+        private void flushTo(Consumer<File> consumer) {
+            if (content.length() == 0) {
+                return;
+            }
+            var file = template.toBuilder()
+                               .setContent(content.toString())
+                               .build();
+            content = new StringBuilder();
+            consumer.accept(file);
+        }
+    }
+}
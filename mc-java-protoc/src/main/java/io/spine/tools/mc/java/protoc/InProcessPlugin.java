@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.Version;
+import io.spine.code.proto.OptionExtensionRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * Runs the code generation of the {@linkplain Plugin Spine Protobuf compiler plugin} in
+ * the current JVM.
+ *
+ * <p>Instead of being called by {@code protoc}, the generators process the descriptors of
+ * the proto files written by {@code protoc} with the {@code --descriptor_set_out} option.
+ * The generated code is added to the Java files generated by {@code protoc} beforehand.
+ *
+ * <p>The generation calls writing to the same output directory constitute a run, and share
+ * the class loaders of the user-defined classes referenced by the code generation options.
+ * As the JVM running the generation may be long-lived, the class loaders of a run must be
+ * {@linkplain #release(Path) released} once the run is complete, so that the next run loads
+ * the classes anew. The runs writing to different directories may proceed concurrently.
+ * The performance report is not written in this mode.
+ */
+public final class InProcessPlugin {
+
+    /**
+     * The version of {@code protoc} passed to the generators.
+     *
+     * <p>The exact version of {@code protoc} which wrote the descriptor set is not known here.
+     * The generators only require it to be 3 or higher, which the Gradle plugin ensures.
+     */
+    private static final Version COMPILER_VERSION = Version.newBuilder()
+            .setMajor(3)
+            .build();
+
+    /** Prevents instantiation of this utility class. */
+    private InProcessPlugin() {
+    }
+
+    /**
+     * Generates the code for the given proto files.
+     *
+     * <p>Does nothing if there are no files to generate.
+     *
+     * @param descriptorSetFile
+     *         the descriptor set of the proto files to generate the code for,
+     *         including all their dependencies
+     * @param filesToGenerate
+     *         the names of the proto files to generate the code for,
+     *         relative to the proto source root
+     * @param configFile
+     *         the file with the serialized code generation options
+     * @param outputDir
+     *         the directory with the Java code generated by {@code protoc}
+     */
+    public static void generate(Path descriptorSetFile,
+                                Collection<String> filesToGenerate,
+                                Path configFile,
+                                Path outputDir) {
+        checkNotNull(descriptorSetFile);
+        checkNotNull(filesToGenerate);
+        checkNotNull(configFile);
+        checkNotNull(outputDir);
+        if (filesToGenerate.isEmpty()) {
+            return;
+        }
+        var config = Plugin.readConfig(configFile);
+        var request = CodeGeneratorRequest.newBuilder()
+                .addAllProtoFile(readDescriptors(descriptorSetFile).getFileList())
+                .addAllFileToGenerate(filesToGenerate)
+                .setCompilerVersion(COMPILER_VERSION)
+                .build();
+        var output = new OutputDirectory(outputDir);
+        var runId = runId(outputDir);
+        var generator = ExternalClassLoader.inRun(runId, () -> Plugin.generatorFor(config));
+        SnippetCache.inRun(runId, () -> generator.process(request, output::add));
+        output.write();
+    }
+
+    /**
+     * Closes the class loaders of the user-defined classes opened by the
+     * {@linkplain #generate generation} calls writing to the given directory, and drops
+     * the {@linkplain SnippetCache code snippets} they rendered.
+     *
+     * <p>Must be called once all the generation calls of the run are complete.
+     */
+    public static void release(Path outputDir) {
+        checkNotNull(outputDir);
+        var runId = runId(outputDir);
+        ExternalClassLoader.releaseLoaders(runId);
+        SnippetCache.release(runId);
+    }
+
+    private static String runId(Path outputDir) {
+        return outputDir.toAbsolutePath()
+                        .normalize()
+                        .toString();
+    }
+
+    /**
+     * Partitions the given proto files into shards, which may be
+     * {@linkplain #generate generated} independently and in parallel.
+     *
+     * <p>The files which import each other are kept in the same shard where possible.
+     *
+     * @param descriptorSetFile
+     *         the descriptor set of the proto files, including all their dependencies
+     * @param filesToGenerate
+     *         the names of the proto files to generate the code for
+     * @param count
+     *         the maximum number of shards
+     * @return non-empty lists of the files to generate, one per shard
+     */
+    public static ImmutableList<ImmutableList<String>>
+    shards(Path descriptorSetFile, Collection<String> filesToGenerate, int count) {
+        checkNotNull(descriptorSetFile);
+        checkNotNull(filesToGenerate);
+        var descriptors = readDescriptors(descriptorSetFile);
+        return new Shards(descriptors.getFileList(), filesToGenerate).split(count);
+    }
+
+    /**
+     * Obtains the names of the proto files in the given descriptor set, as {@code protoc}
+     * refers to them.
+     */
+    public static ImmutableList<String> fileNames(Path descriptorSetFile) {
+        checkNotNull(descriptorSetFile);
+        return readDescriptors(descriptorSetFile)
+                .getFileList()
+                .stream()
+                .map(FileDescriptorProto::getName)
+                .collect(toImmutableList());
+    }
+
+    private static FileDescriptorSet readDescriptors(Path file) {
+        try (var stream = Files.newInputStream(file)) {
+            return FileDescriptorSet.parseFrom(stream, OptionExtensionRegistry.instance());
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read the descriptor set file `%s`.", file
+            );
+        }
+    }
+}
@@ -51,4 +51,9 @@ public final class NoOpGenerator extends CodeGenerator {
     protected ImmutableSet<CompilerOutput> generate(Type<?, ?> type) {
         return ImmutableSet.of();
     }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return false;
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Writes the files of a {@code CodeGeneratorResponse} to a directory the way {@code protoc} does.
+ *
+ * <p>The files without an insertion point are written as-is. The content of the files with
+ * an insertion point is inserted into the existing files before the line with the insertion
+ * point. Each inserted line is indented as the line with the insertion point.
+ *
+ * <p>The files are {@linkplain #add(File) collected} first and {@linkplain #write() written}
+ * together, so that each existing file is read and written only once. Each file is replaced
+ * atomically, so several instances may write identical files concurrently.
+ */
+final class OutputDirectory {
+
+    private static final String INSERTION_POINT_FORMAT = "@@protoc_insertion_point(%s)";
+
+    private final Path root;
+    private final Map<String, List<File>> files = new LinkedHashMap<>();
+
+    /**
+     * Creates a new instance writing the files into the given directory.
+     */
+    OutputDirectory(Path root) {
+        this.root = checkNotNull(root);
+    }
+
+    /**
+     * Adds the given file to be written.
+     */
+    void add(File file) {
+        checkNotNull(file);
+        files.computeIfAbsent(file.getName(), name -> new ArrayList<>())
+             .add(file);
+    }
+
+    /**
+     * Writes all the added files.
+     */
+    void write() {
+        files.forEach(this::write);
+        files.clear();
+    }
+
+    private void write(String name, List<File> parts) {
+        var path = root.resolve(name);
+        var content = new StringBuilder();
+        var existing = false;
+        for (var part : parts) {
+            if (!part.hasInsertionPoint()) {
+                content.setLength(0);
+                content.append(part.getContent());
+                existing = true;
+                continue;
+            }
+            if (!existing) {
+                content.append(read(path));
+                existing = true;
+            }
+            insert(content, part, path);
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            var fileName = path.getFileName().toString();
+            var temp = Files.createTempFile(path.getParent(), fileName, ".tmp");
+            Files.write(temp, content.toString().getBytes(UTF_8));
+            Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to write the generated file `%s`.", path);
+        }
+    }
+
+    private static String read(Path path) {
+        if (!path.toFile().exists()) {
+            throw newIllegalStateException(
+                    "Unable to insert code into `%s`: the file does not exist.", path
+            );
+        }
+        try {
+            return Files.readString(path, UTF_8);
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to read the generated file `%s`.", path);
+        }
+    }
+
+    /**
+     * Inserts the content of the given file into the given text.
+     *
+     * <p>Mirrors the behavior of {@code protoc}: the content is inserted at the beginning of
+     * the line containing the insertion point, and each non-empty inserted line is prefixed with
+     * the indentation of that line.
+     */
+    private static void insert(StringBuilder text, File part, Path path) {
+        var marker = String.format(INSERTION_POINT_FORMAT, part.getInsertionPoint());
+        var markerPosition = text.indexOf(marker);
+        if (markerPosition < 0) {
+            throw newIllegalStateException(
+                    "The insertion point `%s` is not found in `%s`.",
+                    part.getInsertionPoint(), path
+            );
+        }
+        var lineStart = text.lastIndexOf("\n", markerPosition) + 1;
+        var indentEnd = lineStart;
+        while (indentEnd < text.length()
+                && (text.charAt(indentEnd) == ' ' || text.charAt(indentEnd) == '\t')) {
+            indentEnd++;
+        }
+        var indent = text.substring(lineStart, indentEnd);
+        text.insert(lineStart, indented(part.getContent(), indent));
+    }
+
+    private static String indented(String content, String indent) {
+        if (indent.isEmpty()) {
+            return content;
+        }
+        var result = new StringBuilder(content.length() + indent.length() * 4);
+        var position = 0;
+        while (position < content.length()) {
+            var lineEnd = content.indexOf('\n', position);
+            var next = lineEnd < 0 ? content.length() : lineEnd + 1;
+            if (content.charAt(position) != '\n') {
+                result.append(indent);
+            }
+            result.append(content, position, next);
+            position = next;
+        }
+        return result.toString();
+    }
+}
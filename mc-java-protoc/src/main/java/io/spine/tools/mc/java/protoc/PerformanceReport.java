@@ -0,0 +1,237 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measurements of the time and memory spent by the code generators and code generation tasks.
+ *
+ * <p>The measurements are recorded only if the report is {@linkplain #enable() enabled}.
+ * Otherwise, the measured code is executed as-is.
+ *
+ * <p>For each generator and task, the report contains:
+ * <ul>
+ *     <li>the number of the processed types and the types for which any code was generated;
+ *     <li>the wall time;
+ *     <li>the number of bytes allocated by the thread, if the JVM supports measuring it;
+ *     <li>the number and the serialized size of the produced compiler outputs.
+ * </ul>
+ *
+ * <p>The time and memory spent by a task are also included into the measurements of
+ * the generator running the task.
+ *
+ * <p>The measurements may be recorded from several threads at once. The generators and tasks
+ * are listed in the report in the alphabetical order of their names.
+ */
+public final class PerformanceReport {
+
+    private static volatile @Nullable PerformanceReport current = null;
+
+    private final Map<String, Measurement> generators = new ConcurrentSkipListMap<>();
+    private final Map<String, Measurement> tasks = new ConcurrentSkipListMap<>();
+    private final @Nullable com.sun.management.ThreadMXBean threads = allocationCounter();
+
+    private PerformanceReport() {
+    }
+
+    /**
+     * Starts recording the measurements.
+     *
+     * @return the report to be {@linkplain #writeTo(Path) written} when the code generation
+     *         is completed
+     */
+    public static PerformanceReport enable() {
+        var report = new PerformanceReport();
+        current = report;
+        return report;
+    }
+
+    /**
+     * Stops recording the measurements.
+     */
+    @VisibleForTesting
+    static void disable() {
+        current = null;
+    }
+
+    /**
+     * Runs the given code generation and records its measurements for the given generator.
+     */
+    static <T extends Collection<CompilerOutput>>
+    T measureGenerator(CodeGenerator generator, Supplier<T> generation) {
+        var report = current;
+        if (report == null) {
+            return generation.get();
+        }
+        var name = generator.getClass().getSimpleName();
+        return report.measure(report.generators, name, generation);
+    }
+
+    /**
+     * Runs the given code generation and records its measurements for the given task.
+     */
+    static <T extends Collection<CompilerOutput>>
+    T measureTask(CodeGenerationTask task, Supplier<T> generation) {
+        var report = current;
+        if (report == null) {
+            return generation.get();
+        }
+        return report.measure(report.tasks, task.name(), generation);
+    }
+
+    private <T extends Collection<CompilerOutput>>
+    T measure(Map<String, Measurement> measurements, String name, Supplier<T> generation) {
+        var allocatedBefore = allocatedBytes();
+        var startedAt = System.nanoTime();
+        var output = generation.get();
+        var nanos = System.nanoTime() - startedAt;
+        var allocated = allocatedBytes() - allocatedBefore;
+        measurements.computeIfAbsent(name, n -> new Measurement())
+                    .record(nanos, allocated, output);
+        return output;
+    }
+
+    private long allocatedBytes() {
+        if (threads == null) {
+            return 0;
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.@Nullable ThreadMXBean allocationCounter() {
+        var bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        var threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Writes the report in the JSON format to the given file.
+     */
+    public void writeTo(Path file) {
+        checkNotNull(file);
+        try {
+            var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, toJson().getBytes(UTF_8));
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the performance report to `%s`.", file
+            );
+        }
+    }
+
+    private String toJson() {
+        var json = new StringBuilder(1024);
+        json.append("{\n");
+        json.append("  \"allocationMeasured\": ").append(threads != null).append(",\n");
+        appendSection(json, "generators", generators);
+        json.append(",\n");
+        appendSection(json, "tasks", tasks);
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    private static void
+    appendSection(StringBuilder json, String section, Map<String, Measurement> measurements) {
+        json.append("  \"").append(section).append("\": [");
+        var first = true;
+        for (var entry : measurements.entrySet()) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"name\": ").append(quoted(entry.getKey()));
+            entry.getValue().appendTo(json);
+            json.append('}');
+        }
+        json.append(first ? "]" : "\n  ]");
+    }
+
+    private static String quoted(String value) {
+        var escaped = value.replace("\\", "\\\\")
+                           .replace("\"", "\\\"");
+        return '"' + escaped + '"';
+    }
+
+    /**
+     * The accumulated measurements of one generator or task.
+     */
+    private static final class Measurement {
+
+        private long types;
+        private long typesMatched;
+        private long wallNanos;
+        private long allocatedBytes;
+        private long outputs;
+        private long outputBytes;
+
+        private synchronized void
+        record(long nanos, long allocated, Collection<CompilerOutput> output) {
+            types++;
+            if (!output.isEmpty()) {
+                typesMatched++;
+            }
+            wallNanos += nanos;
+            allocatedBytes += allocated;
+            outputs += output.size();
+            for (var item : output) {
+                outputBytes += item.asFile().getSerializedSize();
+            }
+        }
+
+        private synchronized void appendTo(StringBuilder json) {
+            json.append(", \"types\": ").append(types)
+                .append(", \"typesMatched\": ").append(typesMatched)
+                .append(", \"wallTimeMillis\": ").append(wallNanos / 1_000_000)
+                .append(", \"allocatedBytes\": ").append(allocatedBytes)
+                .append(", \"outputs\": ").append(outputs)
+                .append(", \"outputBytes\": ").append(outputBytes);
+        }
+    }
+}
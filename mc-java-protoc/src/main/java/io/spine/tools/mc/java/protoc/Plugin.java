@@ -26,10 +26,12 @@
 
 package io.spine.tools.mc.java.protoc;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
 import io.spine.code.proto.OptionExtensionRegistry;
 import io.spine.tools.mc.java.codegen.CodegenOptions;
 import io.spine.tools.mc.java.protoc.column.ColumnGen;
@@ -39,13 +41,15 @@ import io.spine.tools.mc.java.protoc.message.InterfaceGen;
 import io.spine.tools.mc.java.protoc.message.NestedClassGen;
 import io.spine.tools.mc.java.protoc.method.MethodGen;
 import io.spine.tools.mc.java.protoc.query.EntityQueryGen;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.tools.mc.java.StandardTypes.decodeBase64;
+import static io.spine.tools.mc.java.StandardTypes.performanceReportFile;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
@@ -73,10 +77,31 @@ public final class Plugin {
     /**
      * The entry point of the program.
      */
+    @SuppressWarnings("UseOfSystemOutOrSystemErr") // Required by the protoc API.
     public static void main(String[] args) {
         var request = readRequest();
-        var config = readConfig(request);
-        var generator = CompositeGenerator.of(
+        var configFile = configFile(request);
+        var config = readConfig(configFile);
+        @Nullable PerformanceReport report = config.getReportPerformance()
+                                             ? PerformanceReport.enable()
+                                             : null;
+        var generator = generatorFor(config);
+        var output = CodedOutputStream.newInstance(System.out);
+        generator.process(request, file -> writeFile(output, file));
+        ExternalClassLoader.releaseLoaders();
+        SnippetCache.release();
+        flush(output);
+        System.out.flush();
+        if (report != null) {
+            report.writeTo(performanceReportFile(configFile));
+        }
+    }
+
+    /**
+     * Creates the generator running all the code generation performed by the plugin.
+     */
+    static CompositeGenerator generatorFor(CodegenOptions config) {
+        return CompositeGenerator.of(
                 InterfaceGen.instance(config),
                 MethodGen.instance(config),
                 BuilderGen.instance(config),
@@ -85,8 +110,6 @@ public final class Plugin {
                 EntityQueryGen.instance(config),
                 FieldGen.instance(config)
         );
-        var response = generator.process(request);
-        writeResponse(response);
     }
 
     private static ExtensionRegistry registry() {
@@ -102,9 +125,13 @@ public final class Plugin {
         }
     }
 
-    private static CodegenOptions readConfig(CodeGeneratorRequest request) {
+    private static Path configFile(CodeGeneratorRequest request) {
         var configFilePath = decodeBase64(request.getParameter());
-        try (var fis = new FileInputStream(configFilePath)) {
+        return Path.of(configFilePath);
+    }
+
+    static CodegenOptions readConfig(Path configFile) {
+        try (var fis = new FileInputStream(configFile.toFile())) {
             var config = CodegenOptions.parseFrom(fis, registry());
             return config;
         } catch (InvalidProtocolBufferException e) {
@@ -116,11 +143,25 @@ public final class Plugin {
         }
     }
 
-    @SuppressWarnings("UseOfSystemOutOrSystemErr") // Required by the protoc API.
-    private static void writeResponse(CodeGeneratorResponse response) {
-        checkNotNull(response);
+    /**
+     * Writes the given file as an element of the {@code file} field of
+     * the {@code CodeGeneratorResponse}.
+     *
+     * <p>The response has no other fields set, so a sequence of such elements is
+     * the serialized form of the whole response.
+     */
+    private static void writeFile(CodedOutputStream output, File file) {
+        try {
+            output.writeMessage(CodeGeneratorResponse.FILE_FIELD_NUMBER, file);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write Spine Protoc Plugin code generator response.");
+        }
+    }
+
+    private static void flush(CodedOutputStream output) {
         try {
-            response.writeTo(System.out);
+            output.flush();
         } catch (IOException e) {
             throw newIllegalStateException(
                     e, "Unable to write Spine Protoc Plugin code generator response.");
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Partitions the proto files to generate code for into shards processed independently.
+ *
+ * <p>The files connected by imports are kept in the same shard where possible, so that
+ * the descriptors of the shared imports are built by as few shards as possible.
+ * The groups of connected files are distributed between the shards, the largest groups first,
+ * each to the shard with the fewest files. A group larger than an even share of the files
+ * is split into chunks in the order of imports, so that no shard becomes the bottleneck.
+ */
+final class Shards {
+
+    private final Map<String, FileDescriptorProto> files;
+    private final ImmutableList<String> filesToGenerate;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param allFiles
+     *         the descriptors of the files to generate and their imports
+     * @param filesToGenerate
+     *         the names of the files to generate code for
+     */
+    Shards(Collection<FileDescriptorProto> allFiles, Collection<String> filesToGenerate) {
+        checkNotNull(allFiles);
+        checkNotNull(filesToGenerate);
+        this.files = new HashMap<>(allFiles.size());
+        allFiles.forEach(file -> files.put(file.getName(), file));
+        this.filesToGenerate = ImmutableList.copyOf(filesToGenerate);
+    }
+
+    /**
+     * Partitions the files to generate into at most the given number of non-empty shards.
+     */
+    ImmutableList<ImmutableList<String>> split(int count) {
+        checkArgument(count > 0, "The number of shards must be positive.");
+        var shardCount = Math.min(count, filesToGenerate.size());
+        if (shardCount <= 1) {
+            return filesToGenerate.isEmpty()
+                   ? ImmutableList.of()
+                   : ImmutableList.of(filesToGenerate);
+        }
+        var fairShare = (filesToGenerate.size() + shardCount - 1) / shardCount;
+        List<List<String>> shards = new ArrayList<>(shardCount);
+        for (var i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        var groups = connectedGroups();
+        groups.sort(Comparator.<List<String>>comparingInt(List::size).reversed());
+        for (var group : groups) {
+            for (var chunk : chunks(group, fairShare)) {
+                var smallest = shards.stream()
+                                     .min(Comparator.comparingInt(List::size))
+                                     .orElseThrow();
+                smallest.addAll(chunk);
+            }
+        }
+        return shards.stream()
+                     .filter(shard -> !shard.isEmpty())
+                     .map(ImmutableList::copyOf)
+                     .collect(toImmutableList());
+    }
+
+    private static List<List<String>> chunks(List<String> group, int size) {
+        List<List<String>> result = new ArrayList<>();
+        for (var start = 0; start < group.size(); start += size) {
+            result.add(group.subList(start, Math.min(group.size(), start + size)));
+        }
+        return result;
+    }
+
+    /**
+     * Groups the files to generate which import each other, directly or via other files
+     * to generate.
+     *
+     * <p>Each group lists the imported files before the importing ones.
+     */
+    private List<List<String>> connectedGroups() {
+        var generated = new LinkedHashSet<>(filesToGenerate);
+        Map<String, Set<String>> neighbours = new LinkedHashMap<>();
+        for (var name : generated) {
+            neighbours.computeIfAbsent(name, n -> new LinkedHashSet<>());
+            var file = files.get(name);
+            if (file == null) {
+                continue;
+            }
+            for (var dependency : file.getDependencyList()) {
+                if (generated.contains(dependency)) {
+                    neighbours.get(name).add(dependency);
+                    neighbours.computeIfAbsent(dependency, n -> new LinkedHashSet<>())
+                              .add(name);
+                }
+            }
+        }
+        Set<String> visited = new LinkedHashSet<>();
+        List<List<String>> groups = new ArrayList<>();
+        for (var name : generated) {
+            if (visited.contains(name)) {
+                continue;
+            }
+            Set<String> members = new LinkedHashSet<>();
+            collect(name, neighbours, members);
+            visited.addAll(members);
+            groups.add(inImportOrder(members));
+        }
+        return groups;
+    }
+
+    private static void collect(String start, Map<String, Set<String>> neighbours,
+                                Set<String> members) {
+        var toVisit = new ArrayList<String>();
+        toVisit.add(start);
+        while (!toVisit.isEmpty()) {
+            var name = toVisit.remove(toVisit.size() - 1);
+            if (members.add(name)) {
+                toVisit.addAll(neighbours.get(name));
+            }
+        }
+    }
+
+    private List<String> inImportOrder(Set<String> members) {
+        List<String> ordered = new ArrayList<>(members.size());
+        Set<String> placed = new LinkedHashSet<>();
+        for (var name : members) {
+            place(name, members, placed, ordered);
+        }
+        return ordered;
+    }
+
+    private void place(String name, Set<String> members, Set<String> placed, List<String> ordered) {
+        if (!placed.add(name)) {
+            return;
+        }
+        var file = files.get(name);
+        if (file != null) {
+            for (var dependency : file.getDependencyList()) {
+                if (members.contains(dependency)) {
+                    place(dependency, members, placed, ordered);
+                }
+            }
+        }
+        ordered.add(name);
+    }
+}
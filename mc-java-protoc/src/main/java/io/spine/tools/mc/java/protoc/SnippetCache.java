@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.protobuf.ByteString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A cache of the code snippets which do not depend on the type they are generated for.
+ *
+ * <p>A snippet is rendered once per plugin run. The rendered code is stored as
+ * a {@link ByteString}, so that all the {@linkplain CompilerOutput outputs} containing
+ * the snippet share the same encoded content.
+ *
+ * <p>The snippets are kept per run. The snippets requested {@linkplain #inRun in the scope} of
+ * a run ID belong to that run, and the rest belong to the default run. A run is
+ * {@linkplain #release(String) released} once it is complete, so that the next run renders
+ * the snippets according to its own configuration. Within a run, the number of the snippets
+ * is limited by the number of the interfaces and other constructs configured for the code
+ * generation, so the cache is not bounded.
+ */
+public final class SnippetCache {
+
+    /**
+     * The ID of the run to which the snippets requested outside of any scope belong.
+     */
+    private static final String DEFAULT_RUN = "";
+
+    /**
+     * The rendered snippets by the run ID and the key of the snippet.
+     */
+    private static final Map<String, Map<String, ByteString>> snippets =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The ID of the run in which the current thread requests the snippets.
+     */
+    private static final ThreadLocal<String> currentRun =
+            ThreadLocal.withInitial(() -> DEFAULT_RUN);
+
+    /** Prevents instantiation of this utility class. */
+    private SnippetCache() {
+    }
+
+    /**
+     * Obtains the snippet with the given key, rendering it on the first request.
+     *
+     * @param key
+     *         the key identifying the snippet; the key must determine the rendered code
+     * @param renderer
+     *         renders the code of the snippet
+     * @return the code of the snippet encoded in UTF-8
+     */
+    public static ByteString snippet(String key, Supplier<String> renderer) {
+        checkNotNull(key);
+        checkNotNull(renderer);
+        return snippets.computeIfAbsent(currentRun.get(), run -> new ConcurrentHashMap<>())
+                       .computeIfAbsent(key, k -> ByteString.copyFromUtf8(renderer.get()));
+    }
+
+    /**
+     * Performs the given action, so that the snippets it requests belong to the run with
+     * the given ID.
+     */
+    static void inRun(String runId, Runnable action) {
+        checkNotNull(runId);
+        checkNotNull(action);
+        var previous = currentRun.get();
+        currentRun.set(runId);
+        try {
+            action.run();
+        } finally {
+            if (DEFAULT_RUN.equals(previous)) {
+                currentRun.remove();
+            } else {
+                currentRun.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Drops the snippets of the run with the given ID.
+     */
+    static void release(String runId) {
+        checkNotNull(runId);
+        snippets.remove(runId);
+    }
+
+    /**
+     * Drops the snippets of the default run.
+     *
+     * @see #release(String)
+     */
+    static void release() {
+        release(DEFAULT_RUN);
+    }
+}
@@ -84,12 +84,14 @@ public final class ColumnGen extends CodeGenerator {
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
         checkNotNull(type);
-        if (!isEntityStateWithColumns(type)) {
-            return ImmutableList.of();
-        }
         return generateFor((MessageType) type);
     }
 
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return isEntityStateWithColumns(type);
+    }
+
     private ImmutableList<CompilerOutput> generateFor(MessageType type) {
         var generatedClasses = factory.generateClassesFor(type);
         ImmutableList<CompilerOutput> result =
@@ -77,14 +77,16 @@ public final class FieldGen extends CodeGenerator {
 
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
-        if (!(type instanceof MessageType)) {
-            return ImmutableList.of();
-        }
         var messageType = (MessageType) type;
         var result = codeGenerationTasks.generateFor(messageType);
         return result;
     }
 
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType && !codeGenerationTasks.isEmpty();
+    }
+
     /**
      * A builder for the {@code FieldGen} instances.
      */
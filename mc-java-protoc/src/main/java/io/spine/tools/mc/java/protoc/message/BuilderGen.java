@@ -61,11 +61,12 @@ public final class BuilderGen extends CodeGenerator {
 
     @Override
     protected ImmutableSet<CompilerOutput> generate(Type<?, ?> type) {
-        if (type instanceof MessageType) {
-            CompilerOutput insertionPoint = implementValidatingBuilder((MessageType) type);
-            return ImmutableSet.of(insertionPoint);
-        } else {
-            return ImmutableSet.of();
-        }
+        CompilerOutput insertionPoint = implementValidatingBuilder((MessageType) type);
+        return ImmutableSet.of(insertionPoint);
+    }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType;
     }
 }
@@ -33,7 +33,6 @@ import io.spine.tools.mc.java.protoc.InsertionPoint;
 import io.spine.type.MessageType;
 
 import static io.spine.tools.mc.java.protoc.ProtocPluginFiles.prepareFile;
-import static java.lang.String.format;
 
 /**
  * An insertion point which adds the {@link ValidatingBuilder} interface to the list of implemented
@@ -41,6 +40,9 @@ import static java.lang.String.format;
  */
 final class BuilderImplements extends AbstractCompilerOutput {
 
+    private static final String VALIDATING_BUILDER = ValidatingBuilder.class.getName();
+    private static final InterfaceParameters GENERIC = new GeneratedClass().toCollection();
+
     private BuilderImplements(File file) {
         super(file);
     }
@@ -56,7 +58,7 @@ final class BuilderImplements extends AbstractCompilerOutput {
     }
 
     private static String builderFor(MessageType type) {
-        var generic = new GeneratedClass().toCollection().asStringFor(type);
-        return format("%s%s,", ValidatingBuilder.class.getName(), generic);
+        var generic = GENERIC.asStringFor(type);
+        return VALIDATING_BUILDER + generic + ',';
     }
 }
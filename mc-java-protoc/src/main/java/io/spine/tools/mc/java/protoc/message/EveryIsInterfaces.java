@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc.message;
+
+import io.spine.option.IsOption;
+import io.spine.type.MessageType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The interfaces declared by the {@code (every_is)} option, created once per proto file.
+ *
+ * <p>All the messages of a file share the interface declared by the {@code (every_is)} option
+ * of the file. The interface is rendered for the first processed message of the file and
+ * reused for the rest of the messages.
+ *
+ * <p>The interfaces are kept until {@linkplain #clear() cleared}, which is to be done before
+ * each compiler request. Otherwise, the interfaces known from a previous request would not be
+ * generated again.
+ */
+final class EveryIsInterfaces {
+
+    private final Map<Map.Entry<String, IsOption>, UserDefinedInterface> interfaces =
+            new HashMap<>();
+
+    /**
+     * Obtains the interface declared by the given {@code (every_is)} option of the file of
+     * the given type.
+     */
+    Declaration declaredFor(MessageType type, IsOption option) {
+        checkNotNull(type);
+        checkNotNull(option);
+        var key = Map.entry(type.file().getFullName(), option);
+        var existing = interfaces.get(key);
+        if (existing != null) {
+            return new Declaration(existing, false);
+        }
+        var created = UserDefinedInterface.declaredFor(type, option);
+        interfaces.put(key, created);
+        return new Declaration(created, true);
+    }
+
+    /**
+     * Forgets all the interfaces created before.
+     */
+    void clear() {
+        interfaces.clear();
+    }
+
+    /**
+     * An interface declared by an {@code (every_is)} option.
+     */
+    static final class Declaration {
+
+        private final UserDefinedInterface declared;
+        private final boolean isNew;
+
+        private Declaration(UserDefinedInterface declared, boolean isNew) {
+            this.declared = declared;
+            this.isNew = isNew;
+        }
+
+        /**
+         * Obtains the declared interface.
+         */
+        UserDefinedInterface declared() {
+            return declared;
+        }
+
+        /**
+         * Tells if the interface was created by the call which obtained this declaration,
+         * rather than by a call for another message of the same file.
+         */
+        boolean isNew() {
+            return isNew;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
 import io.spine.tools.mc.java.protoc.AbstractCompilerOutput;
 import io.spine.tools.mc.java.protoc.InsertionPoint;
 import io.spine.tools.mc.java.protoc.ProtocPluginFiles;
+import io.spine.tools.mc.java.protoc.SnippetCache;
 import io.spine.type.MessageType;
 
 /**
@@ -52,12 +53,17 @@ public final class Implement extends AbstractCompilerOutput {
      */
     public static Implement interfaceFor(MessageType type, Interface iface) {
         var insertionPoint = InsertionPoint.message_implements.forType(type);
-        var content = buildContent(type, iface);
-        var file = ProtocPluginFiles.prepareFile(type);
-        var result = file.setInsertionPoint(insertionPoint)
-                         .setContent(content)
-                         .build();
-        return new Implement(result);
+        var file = ProtocPluginFiles.prepareFile(type)
+                                    .setInsertionPoint(insertionPoint);
+        if (iface.parameters().isEmpty()) {
+            var content = SnippetCache.snippet(
+                    "implements:" + iface.name(), () -> buildContent(type, iface)
+            );
+            file.setContentBytes(content);
+        } else {
+            file.setContent(buildContent(type, iface));
+        }
+        return new Implement(file.build());
     }
 
     /**
@@ -40,8 +40,14 @@ abstract class ImplementInterface implements CodeGenerationTask {
 
     private final ClassName interfaceName;
 
+    /**
+     * The interface to implement, if it has no generic parameters.
+     */
+    private final ExistingInterface withoutParameters;
+
     ImplementInterface(JavaClassName interfaceName) {
         this.interfaceName = ClassName.of(interfaceName.getCanonical());
+        this.withoutParameters = new ExistingInterface(this.interfaceName);
     }
 
     /**
@@ -55,7 +61,9 @@ abstract class ImplementInterface implements CodeGenerationTask {
     @Override
     public ImmutableList<CompilerOutput> generateFor(MessageType type) {
         var params = interfaceParameters(type);
-        Interface iface = new ExistingInterface(interfaceName, params);
+        Interface iface = params.isEmpty()
+                          ? withoutParameters
+                          : new ExistingInterface(interfaceName, params);
         var result = Implement.interfaceFor(type, iface);
         return ImmutableList.of(result);
     }
@@ -29,6 +29,7 @@ package io.spine.tools.mc.java.protoc.message;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+import io.spine.code.proto.TypeSet;
 import io.spine.tools.mc.java.codegen.CodegenOptions;
 import io.spine.tools.mc.java.codegen.Entities;
 import io.spine.tools.mc.java.codegen.Signals;
@@ -62,6 +63,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 public final class InterfaceGen extends CodeGenerator {
 
     private final CodeGenerationTasks tasks;
+    private final EveryIsInterfaces everyIsInterfaces = new EveryIsInterfaces();
 
     private InterfaceGen(ImmutableList<CodeGenerationTask> tasks) {
         super();
@@ -141,15 +143,26 @@ public final class InterfaceGen extends CodeGenerator {
      */
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
-        if (!(type instanceof MessageType)) {
-            return ImmutableList.of();
-        }
         return process((MessageType) type);
     }
 
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType;
+    }
+
+    /**
+     * Forgets the {@code (every_is)} interfaces created for the previous request,
+     * so that they are generated for this request again.
+     */
+    @Override
+    protected void prepare(TypeSet types) {
+        everyIsInterfaces.clear();
+    }
+
     private ImmutableList<CompilerOutput> process(MessageType type) {
         var matched = tasks.generateFor(type);
-        var mixed = MixInSpec.scanOptionsFor(type);
+        var mixed = MixInSpec.scanOptionsFor(type, everyIsInterfaces);
         var deduplicated = ImmutableSet.<CompilerOutput>builder()
                 .addAll(matched)
                 .addAll(mixed)
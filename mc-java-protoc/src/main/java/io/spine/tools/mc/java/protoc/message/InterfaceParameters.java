@@ -40,6 +40,8 @@ import static java.util.stream.Collectors.joining;
 @Immutable
 public final class InterfaceParameters {
 
+    private static final InterfaceParameters EMPTY = new InterfaceParameters(ImmutableList.of());
+
     private final ImmutableList<InterfaceParameter> params;
 
     private InterfaceParameters(ImmutableList<InterfaceParameter> params) {
@@ -52,7 +54,15 @@ public final class InterfaceParameters {
     }
 
     public static InterfaceParameters empty() {
-        return new InterfaceParameters(ImmutableList.of());
+        return EMPTY;
+    }
+
+    /**
+     * Tells if there are no parameters, so that the generated code does not depend on
+     * the type of the generated message.
+     */
+    boolean isEmpty() {
+        return params.isEmpty();
     }
 
     /**
@@ -60,10 +60,15 @@ final class MixInSpec {
      * Generates compiler output for a possibly declared {@code (is)} and
      * {@code (every_is)} options for the passed message type.
      *
+     * @param type
+     *         the message type to scan
+     * @param everyIs
+     *         the interfaces already created for the {@code (every_is)} options
      * @see InterfaceGen#generate(Type)
      */
-    static ImmutableList<CompilerOutput> scanOptionsFor(MessageType type) {
-        var fromFileOption = scanEveryIsOption(type);
+    static ImmutableList<CompilerOutput> scanOptionsFor(MessageType type,
+                                                        EveryIsInterfaces everyIs) {
+        var fromFileOption = scanEveryIsOption(type, everyIs);
         var fromTypeOption = scanIsOption(type);
         var deduplicated = ImmutableSet.<CompilerOutput>builder()
                 .addAll(fromFileOption)
@@ -74,31 +79,36 @@ final class MixInSpec {
 
     /**
      * Scans the given {@linkplain FileDescriptorProto file} for the {@code (every_is)} option.
+     *
+     * <p>The interface declared by the option is created once per file, and is generated only
+     * for the first processed message of the file. For the rest of the messages, only
+     * the insertion point making the message implement the interface is produced.
      */
-    private static ImmutableList<CompilerOutput> scanEveryIsOption(MessageType type) {
+    private static ImmutableList<CompilerOutput>
+    scanEveryIsOption(MessageType type, EveryIsInterfaces everyIs) {
         @Nullable IsOption option = EveryIs.of(type).orElse(null);
-        return process(type, option);
+        if (option == null) {
+            return ImmutableList.of();
+        }
+        var declaration = everyIs.declaredFor(type, option);
+        var generate = option.getGenerate() && declaration.isNew();
+        return mixFor(type, generate, declaration.declared()).asList();
     }
 
     private static ImmutableList<CompilerOutput> scanIsOption(MessageType type) {
         @Nullable IsOption option = Is.of(type).orElse(null);
-        return process(type, option);
-    }
-
-    private static ImmutableList<CompilerOutput>
-    process(MessageType type, @Nullable IsOption option) {
         if (option == null) {
             return ImmutableList.of();
         }
-        var mix = mixFor(type, option);
-        return mix.asList();
+        var declared = UserDefinedInterface.declaredFor(type, option);
+        return mixFor(type, option.getGenerate(), declared).asList();
     }
 
-    private static MixInSpec mixFor(MessageType type, IsOption isOption) {
-        var fromOption = UserDefinedInterface.declaredFor(type, isOption);
+    private static MixInSpec
+    mixFor(MessageType type, boolean generate, UserDefinedInterface fromOption) {
         var standard = interfaceFor(type, fromOption);
         @Nullable UserDefinedInterface custom =
-                isOption.getGenerate()
+                generate
                 ? fromOption
                 : null;
         var result = new MixInSpec(standard, custom);
@@ -78,11 +78,13 @@ public final class NestedClassGen extends CodeGenerator {
 
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
-        if (!(type instanceof MessageType)) {
-            return ImmutableList.of();
-        }
         var messageType = (MessageType) type;
         var result = tasks.generateFor(messageType);
         return result;
     }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType && !tasks.isEmpty();
+    }
 }
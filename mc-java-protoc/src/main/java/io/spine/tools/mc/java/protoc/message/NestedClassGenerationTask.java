@@ -54,12 +54,20 @@ abstract class NestedClassGenerationTask implements CodeGenerationTask {
         this.factoryName = checkNotDefaultArg(factoryName);
     }
 
+    /**
+     * Obtains the name of the task which includes the name of the factory class.
+     */
+    @Override
+    public String name() {
+        return getClass().getSimpleName() + '(' + factoryName.getClassName().getCanonical() + ')';
+    }
+
     /**
      * Performs the actual code generation using the supplied {@linkplain #factoryName factory}.
      */
     ImmutableList<CompilerOutput> generateNestedClassesFor(@NonNull MessageType type) {
         var className = factoryName.getClassName().getCanonical();
-        var factory = classLoader.newInstance(className);
+        var factory = classLoader.instanceOf(className);
         return factory
                 .generateClassesFor(type)
                 .stream()
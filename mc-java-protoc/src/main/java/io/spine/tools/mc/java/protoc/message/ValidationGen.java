@@ -51,6 +51,9 @@ import static io.spine.tools.mc.java.protoc.message.Implement.interfaceFor;
  */
 public final class ValidationGen extends CodeGenerator {
 
+    private static final ExistingInterface MESSAGE_WITH_CONSTRAINTS =
+            new ExistingInterface(ClassName.of(MessageWithConstraints.class));
+
     /** Prevents direct instantiation. */
     private ValidationGen() {
         super();
@@ -72,9 +75,12 @@ public final class ValidationGen extends CodeGenerator {
 
     @Override
     protected ImmutableSet<CompilerOutput> generate(Type<?, ?> type) {
-        return type instanceof MessageType
-               ? generateValidationFor((MessageType) type)
-               : ImmutableSet.of();
+        return generateValidationFor((MessageType) type);
+    }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType;
     }
 
     /**
@@ -112,9 +118,7 @@ public final class ValidationGen extends CodeGenerator {
     }
 
     private static ExistingInterface implementMessageWithConstraints() {
-        var baseInterface = ClassName.of(MessageWithConstraints.class);
-        var result = new ExistingInterface(baseInterface);
-        return result;
+        return MESSAGE_WITH_CONSTRAINTS;
     }
 
     private static CompilerOutput
@@ -86,11 +86,13 @@ public final class MethodGen extends CodeGenerator {
 
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
-        if (!(type instanceof MessageType)) {
-            return ImmutableList.of();
-        }
         var messageType = (MessageType) type;
         var result = codeGenerationTasks.generateFor(messageType);
         return result;
     }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return type instanceof MessageType && !codeGenerationTasks.isEmpty();
+    }
 }
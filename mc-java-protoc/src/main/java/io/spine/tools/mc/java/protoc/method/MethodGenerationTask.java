@@ -54,12 +54,20 @@ abstract class MethodGenerationTask implements CodeGenerationTask {
         checkNotEmptyOrBlank(factoryName.getClassName().getCanonical());
     }
 
+    /**
+     * Obtains the name of the task which includes the name of the factory class.
+     */
+    @Override
+    public String name() {
+        return getClass().getSimpleName() + '(' + factoryName.getClassName().getCanonical() + ')';
+    }
+
     /**
      * Performs the actual method code generation using the supplied
      * {@linkplain #factoryName factory}.
      */
     ImmutableList<CompilerOutput> generateMethodsFor(@NonNull MessageType type) {
-        var factory = classLoader.newInstance(factoryName.getClassName().getCanonical());
+        var factory = classLoader.instanceOf(factoryName.getClassName().getCanonical());
         return factory
                 .generateMethodsFor(type)
                 .stream()
@@ -110,10 +110,12 @@ public class EntityQueryGen extends CodeGenerator {
     @Override
     protected Collection<CompilerOutput> generate(Type<?, ?> type) {
         checkNotNull(type);
-        if (isEntityState(type)) {
-            return generateFor((MessageType) type);
-        }
-        return ImmutableList.of();
+        return generateFor((MessageType) type);
+    }
+
+    @Override
+    protected boolean appliesTo(Type<?, ?> type) {
+        return isEntityState(type);
     }
 
     private ImmutableList<CompilerOutput> generateFor(MessageType type) {
@@ -27,7 +27,9 @@
 package io.spine.tools.mc.java.protoc;
 
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
 import io.spine.tools.mc.java.codegen.CodegenOptions;
 import io.spine.tools.mc.java.codegen.Uuids;
@@ -42,6 +44,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
 
@@ -169,6 +173,42 @@ final class CodeGeneratorTest {
                 .isEqualTo(method);
     }
 
+    @DisplayName("stream the response files in the serialized form of the response")
+    @Test
+    void streamResponse() throws IOException {
+        var request = requestBuilder()
+                .addProtoFile(TestGeneratorsProto.getDescriptor()
+                                                 .toProto())
+                .addFileToGenerate(TEST_PROTO_FILE)
+                .setParameter(protocConfig(CodegenOptions.getDefaultInstance(), testPluginConfig))
+                .build();
+        var type = new MessageType(EnhancedWithCodeGeneration.getDescriptor());
+        var insertion = File.newBuilder()
+                .setName("file.proto")
+                .setContent("public void test(){}")
+                .setInsertionPoint(InsertionPoint.class_scope.forType(type))
+                .build();
+        var complete = File.newBuilder()
+                .setName("Complete.java")
+                .setContent("class Complete {}")
+                .build();
+        var generator = new TestGenerator(new TestCompilerOutput(insertion),
+                                          new TestCompilerOutput(complete));
+        var bytes = new ByteArrayOutputStream();
+        var output = CodedOutputStream.newInstance(bytes);
+        generator.process(request, file -> {
+            try {
+                output.writeMessage(CodeGeneratorResponse.FILE_FIELD_NUMBER, file);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        output.flush();
+
+        var expected = generator.process(request);
+        assertThat(bytes.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
     @Nested
     @DisplayName("not process invalid `CodeGeneratorRequest` if passed")
     class Arguments {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+import io.spine.tools.protoc.plugin.EnhancedWithCodeGeneration;
+import io.spine.tools.protoc.plugin.TestGeneratorsProto;
+import io.spine.type.Type;
+import io.spine.type.TypeName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.java.protoc.given.CodeGeneratorRequestGiven.requestBuilder;
+
+@DisplayName("`CompositeGenerator` should")
+final class CompositeGeneratorTest {
+
+    private static final String TEST_PROTO_FILE = "spine/tools/protoc/test_generators.proto";
+
+    @Test
+    @DisplayName("pass a type only to the generators which apply to it")
+    void passOnlyApplicable() {
+        var target = TypeName.of(EnhancedWithCodeGeneration.getDescriptor()
+                                                     .getFullName());
+        var selective = new RecordingGenerator(type -> type.name().equals(target));
+        var skipping = new RecordingGenerator(type -> false);
+        var generator = CompositeGenerator.of(selective, skipping);
+
+        generator.process(request());
+
+        assertThat(selective.processed).containsExactly(target);
+        assertThat(skipping.processed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("merge the output of the applicable generators")
+    void mergeOutput() {
+        var first = new RecordingGenerator(type -> true);
+        var second = new RecordingGenerator(type -> true);
+        var generator = CompositeGenerator.of(first, second);
+
+        var response = generator.process(request());
+
+        assertThat(first.processed).isNotEmpty();
+        assertThat(response.getFileList()).hasSize(first.processed.size());
+    }
+
+    private static CodeGeneratorRequest request() {
+        return requestBuilder()
+                .addProtoFile(TestGeneratorsProto.getDescriptor()
+                                                 .toProto())
+                .addFileToGenerate(TEST_PROTO_FILE)
+                .build();
+    }
+
+    /**
+     * A generator which remembers the types it was asked to process.
+     *
+     * <p>For each type, generates a file named after the type.
+     */
+    private static final class RecordingGenerator extends CodeGenerator {
+
+        private final Predicate<Type<?, ?>> applicable;
+        private final List<TypeName> processed = new ArrayList<>();
+
+        private RecordingGenerator(Predicate<Type<?, ?>> applicable) {
+            super();
+            this.applicable = applicable;
+        }
+
+        @Override
+        protected Collection<CompilerOutput> generate(Type<?, ?> type) {
+            processed.add(type.name());
+            var file = File.newBuilder()
+                    .setName(type.name().value() + ".txt")
+                    .setContent(type.name().value())
+                    .build();
+            return ImmutableList.of(CompilerOutput.wrapping(file));
+        }
+
+        @Override
+        protected boolean appliesTo(Type<?, ?> type) {
+            return applicable.test(type);
+        }
+    }
+}
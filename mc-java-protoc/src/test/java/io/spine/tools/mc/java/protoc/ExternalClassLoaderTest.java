@@ -42,6 +42,8 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.Assertions.assertIllegalArgument;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -130,6 +132,45 @@ final class ExternalClassLoaderTest {
                 .isInstanceOf(StubMethodFactory.class);
     }
 
+    @Test
+    @DisplayName("reuse the instance of a class within a thread")
+    void reuseInstance() {
+        var name = StubMethodFactory.class.getName();
+        var first = classLoader.instanceOf(name);
+        var second = classLoader.instanceOf(name);
+
+        assertThat(second).isSameInstanceAs(first);
+    }
+
+    @Test
+    @DisplayName("create a separate instance of a class for another thread")
+    void separateInstancePerThread() throws InterruptedException {
+        var name = StubMethodFactory.class.getName();
+        var instance = classLoader.instanceOf(name);
+        var fromOtherThread = new AtomicReference<MethodFactory>();
+        var thread = new Thread(() -> fromOtherThread.set(classLoader.instanceOf(name)));
+        thread.start();
+        thread.join();
+
+        assertThat(fromOtherThread.get()).isInstanceOf(StubMethodFactory.class);
+        assertThat(fromOtherThread.get()).isNotSameInstanceAs(instance);
+    }
+
+    @Test
+    @DisplayName("drop the kept instances when the run is released")
+    void dropInstancesOnRelease() {
+        var run = "release-test";
+        var name = StubMethodFactory.class.getName();
+        ExternalClassLoader<MethodFactory> loader = ExternalClassLoader.inRun(
+                run, () -> new ExternalClassLoader<>(Classpath.getDefaultInstance(),
+                                                     MethodFactory.class)
+        );
+        var before = loader.instanceOf(name);
+        ExternalClassLoader.releaseLoaders(run);
+
+        assertThat(loader.instanceOf(name)).isNotSameInstanceAs(before);
+    }
+
     @CanIgnoreReturnValue
     private MethodFactory newInstanceFor(Class<?> clazz) {
         return classLoader.newInstance(clazz.getName());
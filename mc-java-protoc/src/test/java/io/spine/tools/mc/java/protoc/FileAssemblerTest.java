@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.java.protoc.CompilerOutput.wrapping;
+
+@DisplayName("`FileAssembler` should")
+final class FileAssemblerTest {
+
+    private static final String FILE = "io/spine/given/Test.java";
+    private static final String OTHER_FILE = "io/spine/given/Other.java";
+    private static final String INSERTION_POINT = "class_scope:given.Test";
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    @DisplayName("join snippets for the same insertion point in the order of addition")
+    void joinInOrder() {
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(insertion(FILE, "b()"));
+        assembler.add(insertion(FILE, "a()"));
+        assembler.add(insertion(FILE, "c()"));
+        assembler.flush();
+
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getContent()).isEqualTo("b()" + NL + "a()" + NL + "c()");
+    }
+
+    @Test
+    @DisplayName("include identical snippets only once")
+    void dropDuplicates() {
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(insertion(FILE, "a()"));
+        assembler.add(insertion(FILE, "b()"));
+        assembler.add(insertion(FILE, "a()"));
+        assembler.flush();
+
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getContent()).isEqualTo("a()" + NL + "b()");
+    }
+
+    @Test
+    @DisplayName("not join insertions into different files")
+    void separateFiles() {
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(insertion(FILE, "a()"));
+        assembler.add(insertion(OTHER_FILE, "b()"));
+        assembler.flush();
+
+        assertThat(files).containsExactly(
+                file(FILE, "a()").setInsertionPoint(INSERTION_POINT).build(),
+                file(OTHER_FILE, "b()").setInsertionPoint(INSERTION_POINT).build()
+        ).inOrder();
+    }
+
+    @Test
+    @DisplayName("pass complete files right away, without duplicates")
+    void completeFiles() {
+        var complete = file(OTHER_FILE, "class Other {}").build();
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(wrapping(complete));
+        assembler.add(insertion(FILE, "a()"));
+        assembler.add(wrapping(complete));
+
+        assertThat(files).containsExactly(complete);
+
+        assembler.flush();
+
+        assertThat(files).hasSize(2);
+        assertThat(files.get(1).getInsertionPoint()).isEqualTo(INSERTION_POINT);
+    }
+
+    @Test
+    @DisplayName("pass only the content added since the previous flush")
+    void flushNewContent() {
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(insertion(FILE, "a()"));
+        assembler.flush();
+        assembler.add(insertion(FILE, "a()"));
+        assembler.flush();
+        assembler.add(insertion(FILE, "b()"));
+        assembler.flush();
+
+        assertThat(files).containsExactly(
+                file(FILE, "a()").setInsertionPoint(INSERTION_POINT).build(),
+                file(FILE, "b()").setInsertionPoint(INSERTION_POINT).build()
+        ).inOrder();
+    }
+
+    @Test
+    @DisplayName("flush only the insertion points which received content since the previous flush")
+    void flushTouchedPoints() {
+        List<File> files = new ArrayList<>();
+        var assembler = new FileAssembler(files::add);
+        assembler.add(insertion(FILE, "a()"));
+        assembler.add(insertion(OTHER_FILE, "b()"));
+        assembler.flush();
+        files.clear();
+        assembler.add(insertion(OTHER_FILE, "c()"));
+        assembler.flush();
+
+        assertThat(files).containsExactly(
+                file(OTHER_FILE, "c()").setInsertionPoint(INSERTION_POINT).build()
+        );
+    }
+
+    private static CompilerOutput insertion(String name, String content) {
+        var file = file(name, content)
+                .setInsertionPoint(INSERTION_POINT)
+                .build();
+        return wrapping(file);
+    }
+
+    private static File.Builder file(String name, String content) {
+        return File.newBuilder()
+                .setName(name)
+                .setContent(content);
+    }
+}
@@ -42,10 +42,10 @@ public final class Generators {
     }
 
     /**
-     * Feeds the given {@code type} to the given {@code generator} and returns
-     * the resulting generated code.
+     * Feeds the given {@code type} to the given {@code generator}, if the generator applies
+     * to the type, and returns the resulting generated code.
      */
     public static Collection<CompilerOutput> generate(CodeGenerator generator, Type<?, ?> type) {
-        return generator.generate(type);
+        return generator.generateIfApplies(type);
     }
 }
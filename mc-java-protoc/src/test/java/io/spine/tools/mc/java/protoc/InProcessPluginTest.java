@@ -0,0 +1,195 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import io.spine.tools.java.fs.SourceFile;
+import io.spine.tools.mc.java.codegen.Messages;
+import io.spine.tools.mc.java.protoc.given.TestMethodFactory;
+import io.spine.tools.protoc.plugin.EnhancedWithCodeGeneration;
+import io.spine.tools.protoc.plugin.TestGeneratorsProto;
+import io.spine.tools.protoc.plugin.TestProtocProtos;
+import io.spine.type.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.mc.java.gradle.codegen.FilePatterns.filePrefix;
+import static io.spine.tools.mc.java.protoc.given.CodeGeneratorRequestGiven.generateMethods;
+import static io.spine.tools.mc.java.protoc.given.CodeGeneratorRequestGiven.optionsWithoutValidation;
+import static io.spine.tools.mc.java.protoc.given.CodeGeneratorRequestGiven.pattern;
+import static io.spine.tools.mc.java.protoc.given.CodeGeneratorRequestGiven.requestBuilder;
+import static io.spine.tools.mc.java.protoc.given.TestMethodFactory.TEST_METHOD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`InProcessPlugin` should")
+final class InProcessPluginTest {
+
+    private static final String TEST_PROTO_FILE = "spine/tools/protoc/test_generators.proto";
+
+    private static final MessageType TYPE =
+            new MessageType(EnhancedWithCodeGeneration.getDescriptor());
+
+    private static final ImmutableList<FileDescriptor> TEST_FILES = ImmutableList.of(
+            TestGeneratorsProto.getDescriptor(),
+            TestProtocProtos.getDescriptor()
+    );
+
+    private Path descriptorSet;
+    private Path configFile;
+    private Path outputDir;
+    private Path javaFile;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        descriptorSet = dir.resolve("descriptors.desc");
+        var request = requestBuilder();
+        TEST_FILES.forEach(file -> request.addProtoFile(file.toProto()));
+        var descriptors = FileDescriptorSet.newBuilder()
+                .addAllFile(request.getProtoFileList())
+                .build();
+        try (var stream = Files.newOutputStream(descriptorSet)) {
+            descriptors.writeTo(stream);
+        }
+        configFile = dir.resolve("config.pb");
+        var messages = Messages.newBuilder()
+                .setPattern(pattern(filePrefix("spine/tools/protoc/test_")))
+                .addGenerateMethods(generateMethods(TestMethodFactory.class))
+                .build();
+        var config = optionsWithoutValidation()
+                .addMessages(messages)
+                .build();
+        try (var stream = Files.newOutputStream(configFile)) {
+            config.writeTo(stream);
+        }
+        outputDir = dir.resolve("java");
+        writeSources(outputDir);
+        javaFile = sourceFile(outputDir, TYPE);
+    }
+
+    @AfterEach
+    void releaseLoaders() {
+        InProcessPlugin.release(outputDir);
+    }
+
+    @Test
+    @DisplayName("insert the generated code into the Java files in the output directory")
+    void insertCode() throws IOException {
+        InProcessPlugin.generate(descriptorSet,
+                                 ImmutableList.of(TEST_PROTO_FILE),
+                                 configFile,
+                                 outputDir);
+
+        var content = Files.readString(javaFile, UTF_8);
+        assertThat(content).contains(TEST_METHOD.toString());
+        assertThat(content.indexOf(TEST_METHOD.toString()))
+                .isLessThan(content.indexOf("@@protoc_insertion_point"));
+    }
+
+    @Test
+    @DisplayName("leave the output directory intact if there are no files to generate")
+    void noFiles() throws IOException {
+        InProcessPlugin.generate(descriptorSet, ImmutableList.of(), configFile, outputDir);
+
+        assertThat(Files.readString(javaFile, UTF_8)).isEqualTo(source(TYPE));
+    }
+
+    @Test
+    @DisplayName("generate the same code for the files split into shards")
+    void shardedOutput(@TempDir Path dir) throws IOException {
+        var files = TEST_FILES.stream()
+                .map(FileDescriptor::getName)
+                .collect(toImmutableList());
+        var shards = InProcessPlugin.shards(descriptorSet, files, 2);
+        assertThat(shards).hasSize(2);
+
+        var shardedDir = dir.resolve("sharded");
+        writeSources(shardedDir);
+        try {
+            InProcessPlugin.generate(descriptorSet, files, configFile, outputDir);
+            for (var shard : shards) {
+                InProcessPlugin.generate(descriptorSet, shard, configFile, shardedDir);
+            }
+        } finally {
+            InProcessPlugin.release(shardedDir);
+        }
+
+        for (var type : messageTypes()) {
+            var expected = Files.readString(sourceFile(outputDir, type), UTF_8);
+            assertThat(expected).contains(TEST_METHOD.toString());
+            assertThat(Files.readString(sourceFile(shardedDir, type), UTF_8))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("obtain the names of the files in the descriptor set")
+    void fileNames() {
+        assertThat(InProcessPlugin.fileNames(descriptorSet))
+                .contains(TEST_PROTO_FILE);
+    }
+
+    /**
+     * Writes a Java file with the class scope insertion point for each message type
+     * of the test proto files, as if {@code protoc} generated it.
+     */
+    private static void writeSources(Path dir) throws IOException {
+        for (var type : messageTypes()) {
+            var file = sourceFile(dir, type);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source(type), UTF_8);
+        }
+    }
+
+    private static ImmutableList<MessageType> messageTypes() {
+        return TEST_FILES.stream()
+                .flatMap(file -> file.getMessageTypes().stream())
+                .map(MessageType::new)
+                .collect(toImmutableList());
+    }
+
+    private static Path sourceFile(Path dir, MessageType type) {
+        return dir.resolve(SourceFile.forType(type).toString());
+    }
+
+    private static String source(MessageType type) {
+        var insertionPoint = InsertionPoint.class_scope.forType(type);
+        return "public final class " + type.descriptor().getName() + " {\n" +
+                "    // @@protoc_insertion_point(" + insertionPoint + ")\n" +
+                "}\n";
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`OutputDirectory` should")
+final class OutputDirectoryTest {
+
+    private static final String FILE = "io/spine/given/Test.java";
+    private static final String INSERTION_POINT = "class_scope:given.Test";
+    private static final String SOURCE =
+            "class Test {\n" +
+            "    // @@protoc_insertion_point(" + INSERTION_POINT + ")\n" +
+            "}\n";
+
+    @Test
+    @DisplayName("write new files")
+    void writeFiles(@TempDir Path dir) throws IOException {
+        var output = new OutputDirectory(dir);
+        output.add(File.newBuilder()
+                           .setName(FILE)
+                           .setContent(SOURCE)
+                           .build());
+        output.write();
+
+        assertThat(Files.readString(dir.resolve(FILE), UTF_8)).isEqualTo(SOURCE);
+    }
+
+    @Test
+    @DisplayName("insert code before the insertion point with its indentation")
+    void insertCode(@TempDir Path dir) throws IOException {
+        var file = dir.resolve(FILE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, SOURCE, UTF_8);
+
+        var output = new OutputDirectory(dir);
+        output.add(insertion("void a() {\n}\n"));
+        output.add(insertion("\nvoid b() {}\n"));
+        output.write();
+
+        var expected = "class Test {\n" +
+                "    void a() {\n" +
+                "    }\n" +
+                "\n" +
+                "    void b() {}\n" +
+                "    // @@protoc_insertion_point(" + INSERTION_POINT + ")\n" +
+                "}\n";
+        assertThat(Files.readString(file, UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("insert code into a file added before")
+    void insertIntoNewFile(@TempDir Path dir) throws IOException {
+        var output = new OutputDirectory(dir);
+        output.add(File.newBuilder()
+                           .setName(FILE)
+                           .setContent(SOURCE)
+                           .build());
+        output.add(insertion("int a;\n"));
+        output.write();
+
+        assertThat(Files.readString(dir.resolve(FILE), UTF_8)).contains("    int a;\n");
+    }
+
+    @Test
+    @DisplayName("fail if the insertion point is not found")
+    void failOnMissingInsertionPoint(@TempDir Path dir) throws IOException {
+        var file = dir.resolve(FILE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "class Test {}\n", UTF_8);
+
+        var output = new OutputDirectory(dir);
+        output.add(insertion("int a;\n"));
+        assertThrows(IllegalStateException.class, output::write);
+    }
+
+    private static File insertion(String content) {
+        return File.newBuilder()
+                .setName(FILE)
+                .setInsertionPoint(INSERTION_POINT)
+                .setContent(content)
+                .build();
+    }
+}
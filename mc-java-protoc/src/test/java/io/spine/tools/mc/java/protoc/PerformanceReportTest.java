@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`PerformanceReport` should")
+final class PerformanceReportTest {
+
+    @AfterEach
+    void disableReport() {
+        PerformanceReport.disable();
+    }
+
+    @Test
+    @DisplayName("run the measured code when disabled")
+    void runWhenDisabled() {
+        var runs = new AtomicInteger();
+        var output = PerformanceReport.measureGenerator(NoOpGenerator.instance(), () -> {
+            runs.incrementAndGet();
+            return ImmutableList.<CompilerOutput>of();
+        });
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(output).isEmpty();
+    }
+
+    @Test
+    @DisplayName("write measurements of generators")
+    void writeMeasurements(@TempDir Path dir) throws IOException {
+        var report = PerformanceReport.enable();
+        var file = File.newBuilder()
+                .setName("Foo.java")
+                .setContent("class Foo {}")
+                .build();
+        var generator = NoOpGenerator.instance();
+        PerformanceReport.measureGenerator(
+                generator, () -> ImmutableList.of(CompilerOutput.wrapping(file))
+        );
+        PerformanceReport.measureGenerator(generator, ImmutableList::<CompilerOutput>of);
+
+        var reportFile = dir.resolve("report.json");
+        report.writeTo(reportFile);
+
+        var json = Files.readString(reportFile, UTF_8);
+        assertThat(json).contains("\"name\": \"NoOpGenerator\"");
+        assertThat(json).contains("\"types\": 2");
+        assertThat(json).contains("\"typesMatched\": 1");
+        assertThat(json).contains("\"outputs\": 1");
+        assertThat(json).contains("\"tasks\": []");
+    }
+
+    @Test
+    @DisplayName("record measurements from several threads")
+    void measureConcurrently(@TempDir Path dir) throws IOException, InterruptedException {
+        var report = PerformanceReport.enable();
+        var generator = NoOpGenerator.instance();
+        var threads = 4;
+        var measurementsPerThread = 1_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        for (var i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (var j = 0; j < measurementsPerThread; j++) {
+                    PerformanceReport.measureGenerator(generator,
+                                                       ImmutableList::<CompilerOutput>of);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        var reportFile = dir.resolve("report.json");
+        report.writeTo(reportFile);
+
+        var json = Files.readString(reportFile, UTF_8);
+        assertThat(json).contains("\"types\": " + threads * measurementsPerThread);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`Shards` should")
+final class ShardsTest {
+
+    private static final FileDescriptorProto A = file("a.proto");
+    private static final FileDescriptorProto B = file("b.proto", "a.proto");
+    private static final FileDescriptorProto C = file("c.proto");
+    private static final FileDescriptorProto D = file("d.proto");
+
+    @Test
+    @DisplayName("keep the files connected by imports in the same shard")
+    void keepConnectedFiles() {
+        var shards = new Shards(ImmutableList.of(A, B, C),
+                                ImmutableList.of("b.proto", "a.proto", "c.proto"))
+                .split(2);
+
+        assertThat(shards).containsExactly(
+                ImmutableList.of("a.proto", "b.proto"),
+                ImmutableList.of("c.proto")
+        );
+    }
+
+    @Test
+    @DisplayName("not produce more shards than files")
+    void skipEmptyShards() {
+        var shards = new Shards(ImmutableList.of(C, D), ImmutableList.of("c.proto", "d.proto"))
+                .split(5);
+
+        assertThat(shards).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("split a group larger than an even share of the files")
+    void splitLargeGroup() {
+        var shards = new Shards(ImmutableList.of(A, B), ImmutableList.of("a.proto", "b.proto"))
+                .split(2);
+
+        assertThat(shards).containsExactly(
+                ImmutableList.of("a.proto"),
+                ImmutableList.of("b.proto")
+        );
+    }
+
+    private static FileDescriptorProto file(String name, String... dependencies) {
+        return FileDescriptorProto.newBuilder()
+                .setName(name)
+                .addAllDependency(ImmutableList.copyOf(dependencies))
+                .build();
+    }
+}
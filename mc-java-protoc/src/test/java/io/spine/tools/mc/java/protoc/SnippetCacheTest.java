@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc;
+
+import com.google.common.testing.NullPointerTester;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
+
+@DisplayName("`SnippetCache` should")
+final class SnippetCacheTest {
+
+    @Test
+    @DisplayName(NOT_ACCEPT_NULLS)
+    void passNullToleranceCheck() {
+        new NullPointerTester()
+                .testAllPublicStaticMethods(SnippetCache.class);
+    }
+
+    @Test
+    @DisplayName("render a snippet only once")
+    void renderOnce() {
+        var renderings = new AtomicInteger();
+        var key = getClass().getName() + ".renderOnce";
+        var first = SnippetCache.snippet(key, () -> {
+            renderings.incrementAndGet();
+            return "implements Foo,";
+        });
+        var second = SnippetCache.snippet(key, () -> {
+            renderings.incrementAndGet();
+            return "implements Foo,";
+        });
+
+        assertThat(renderings.get()).isEqualTo(1);
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(first.toStringUtf8()).isEqualTo("implements Foo,");
+    }
+
+    @Test
+    @DisplayName("render a snippet anew after the run is released")
+    void renderAfterRelease() {
+        var run = getClass().getName() + ".renderAfterRelease";
+        var key = "implements";
+        var before = new AtomicReference<ByteString>();
+        SnippetCache.inRun(run, () -> before.set(SnippetCache.snippet(key, () -> "Foo,")));
+        SnippetCache.release(run);
+        var after = new AtomicReference<ByteString>();
+        SnippetCache.inRun(run, () -> after.set(SnippetCache.snippet(key, () -> "Bar,")));
+        SnippetCache.release(run);
+
+        assertThat(before.get().toStringUtf8()).isEqualTo("Foo,");
+        assertThat(after.get().toStringUtf8()).isEqualTo("Bar,");
+    }
+
+    @Test
+    @DisplayName("keep the snippets of different runs apart")
+    void separateRuns() {
+        var key = "implements";
+        var first = new AtomicReference<ByteString>();
+        var second = new AtomicReference<ByteString>();
+        SnippetCache.inRun("first", () -> first.set(SnippetCache.snippet(key, () -> "Foo,")));
+        SnippetCache.inRun("second", () -> second.set(SnippetCache.snippet(key, () -> "Bar,")));
+        SnippetCache.release("first");
+        SnippetCache.release("second");
+
+        assertThat(first.get().toStringUtf8()).isEqualTo("Foo,");
+        assertThat(second.get().toStringUtf8()).isEqualTo("Bar,");
+    }
+}
@@ -43,6 +43,7 @@ import org.junit.jupiter.api.Test;
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
 import static io.spine.tools.java.code.Names.className;
+import static io.spine.tools.mc.java.protoc.Generators.generate;
 
 @DisplayName("`FieldGenerator` should")
 class FieldGenTest {
@@ -74,7 +75,7 @@ class FieldGenTest {
 
         var generator = FieldGen.instance(config);
         var enumType = EnumType.create(Task.Priority.getDescriptor());
-        var output = generator.generate(enumType);
+        var output = generate(generator, enumType);
 
         assertThat(output)
                 .isEmpty();
@@ -33,6 +33,7 @@ import io.spine.tools.java.code.NestedClassFactory;
 import io.spine.type.MessageType;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A test-only implementation of a {@link NestedClassFactory}.
@@ -43,6 +44,19 @@ public final class TestNestedClassFactory implements NestedClassFactory {
     public static final NestedClass NESTED_CLASS =
             new NestedClass("static class NestedClass {}");
 
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    public TestNestedClassFactory() {
+        instances.incrementAndGet();
+    }
+
+    /**
+     * Obtains the number of instances of this class created so far.
+     */
+    public static int instancesCreated() {
+        return instances.get();
+    }
+
     @Override
     public List<NestedClass> generateClassesFor(MessageType messageType) {
         return ImmutableList.of(NESTED_CLASS);
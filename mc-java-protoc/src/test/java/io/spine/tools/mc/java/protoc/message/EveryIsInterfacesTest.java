@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.protoc.message;
+
+import io.spine.option.IsOption;
+import io.spine.tools.protoc.plugin.message.tests.EveryIsGeneratedProto;
+import io.spine.type.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`EveryIsInterfaces` should")
+final class EveryIsInterfacesTest {
+
+    @Test
+    @DisplayName("create an interface once for all the messages of a file")
+    void reuseInterface() {
+        var file = EveryIsGeneratedProto.getDescriptor();
+        var created = new MessageType(file.findMessageTypeByName("ProtocProjectCreated"));
+        var deleted = new MessageType(file.findMessageTypeByName("ProtocProjectDeleted"));
+        var option = everyIsOf(created);
+        var interfaces = new EveryIsInterfaces();
+
+        var first = interfaces.declaredFor(created, option);
+        var second = interfaces.declaredFor(deleted, option);
+
+        assertThat(second.declared()).isSameInstanceAs(first.declared());
+        assertThat(first.declared().name()).endsWith(".ProtocProjectEvent");
+        assertThat(first.isNew()).isTrue();
+        assertThat(second.isNew()).isFalse();
+    }
+
+    private static IsOption everyIsOf(MessageType type) {
+        var option = EveryIs.of(type);
+        assertThat(option).isPresent();
+        return option.get();
+    }
+}
@@ -95,6 +95,25 @@ class ImplementEntityStateTest {
         assertThat(insertionPoint).startsWith(message_implements.name());
     }
 
+    @Test
+    @DisplayName("render the interface of the current configuration")
+    void followConfigChange() {
+        var entityStateType = new MessageType(ProtocProject.getDescriptor());
+        var before = task.generateFor(entityStateType)
+                         .get(0)
+                         .asFile()
+                         .getContent();
+        var changed = markEntityStatesAs("io.spine.tools.protoc.given.ChangedState");
+        var after = changed.generateFor(entityStateType)
+                           .get(0)
+                           .asFile()
+                           .getContent();
+
+        assertThat(before).contains(EntityState.class.getCanonicalName());
+        assertThat(after).contains("io.spine.tools.protoc.given.ChangedState");
+        assertThat(after).isNotEqualTo(before);
+    }
+
     @Test
     @DisplayName("return empty output if the message is not marked with `(entity)`")
     void forNonEntity() {
@@ -65,6 +65,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -439,6 +440,20 @@ final class InterfaceGenTest {
                 }
             }
         }
+
+        @Test
+        @DisplayName("`(every_is)` on each request processed by the same generator")
+        void forEveryIsOnEachRequest() {
+            var filePath = protoFile("every_is_generated.proto");
+            var fileDescr = EveryIsGeneratedProto.getDescriptor().toProto();
+
+            var first = processCodeGenRequest(filePath, fileDescr);
+            var second = processCodeGenRequest(filePath, fileDescr);
+
+            var declared = declaredInterfaces(first);
+            assertThat(declared).hasSize(1);
+            assertThat(declaredInterfaces(second)).isEqualTo(declared);
+        }
     }
 
     @Test
@@ -476,6 +491,16 @@ final class InterfaceGenTest {
         return codeGenerator.process(request);
     }
 
+    /**
+     * Obtains the files of the given response which declare interfaces.
+     */
+    private static Set<File> declaredInterfaces(CodeGeneratorResponse response) {
+        return response.getFileList()
+                       .stream()
+                       .filter(file -> file.getInsertionPoint().isEmpty())
+                       .collect(toSet());
+    }
+
     private static SourceFile sourceWithPackage(String typeName) {
         var fileName = FileName.forType(typeName);
         Path packageDir = JavaFiles.toDirectory(JAVA_PACKAGE);
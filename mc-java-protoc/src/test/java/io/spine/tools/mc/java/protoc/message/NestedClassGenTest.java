@@ -44,6 +44,7 @@ import org.junit.jupiter.api.Test;
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
 import static io.spine.tools.java.code.Names.className;
+import static io.spine.tools.mc.java.protoc.Generators.generate;
 
 @DisplayName("`NestedClassGenerator` should")
 class NestedClassGenTest {
@@ -74,11 +75,25 @@ class NestedClassGenTest {
 
         var generator = NestedClassGen.instance(config);
         var enumType = EnumType.create(Task.Priority.getDescriptor());
-        var output = generator.generate(enumType);
+        var output = generate(generator, enumType);
 
         assertThat(output).isEmpty();
     }
 
+    @Test
+    @DisplayName("create a factory only once for all the processed types")
+    void reuseFactory() {
+        var generator = NestedClassGen.instance(newOptions());
+        var type = new MessageType(TaskView.getDescriptor());
+        var createdBefore = TestNestedClassFactory.instancesCreated();
+        for (var i = 0; i < 5_000; i++) {
+            generator.generate(type);
+        }
+        var created = TestNestedClassFactory.instancesCreated() - createdBefore;
+
+        assertThat(created).isEqualTo(1);
+    }
+
     private static CodegenOptions newOptions() {
         var name = className(TestNestedClassFactory.class);
         var factoryName = NestedClassFactoryName.newBuilder()
@@ -34,6 +34,7 @@ import io.spine.type.ServiceType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static io.spine.tools.mc.java.protoc.Generators.generate;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("`MethodGenerator` should")
@@ -45,7 +46,7 @@ final class MethodGenTest {
         var generator = MethodGen.instance(CodegenOptions.getDefaultInstance());
         var service = TestServiceProto.getDescriptor().findServiceByName("MGTService");
         var type = ServiceType.of(service);
-        var result = generator.generate(type);
+        var result = generate(generator, type);
         assertTrue(result.isEmpty());
     }
 
@@ -33,34 +33,34 @@ import io.spine.code.java.SimpleClassName;
 import io.spine.code.proto.FileSet;
 import io.spine.code.proto.RejectionsFile;
 import io.spine.code.proto.SourceFile;
+import io.spine.logging.Logging;
 import io.spine.tools.code.Indent;
-import io.spine.tools.gradle.CodeGenerationAction;
-import io.spine.tools.gradle.ProtoFiles;
-import io.spine.tools.code.SourceSetName;
 import io.spine.tools.java.code.TypeSpec;
 import io.spine.tools.java.code.TypeSpecWriter;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
 import io.spine.tools.mc.java.gradle.McJavaOptions;
-import io.spine.tools.mc.java.gradle.Projects;
 import io.spine.tools.mc.java.rejection.gen.RThrowableSpec;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.gradle.api.Action;
-import org.gradle.api.Project;
-import org.gradle.api.Task;
-import org.gradle.api.file.FileCollection;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.flogger.LazyArgs.lazy;
-import static io.spine.tools.gradle.project.Projects.getSourceSets;
-import static io.spine.tools.mc.java.gradle.Projects.generatedRejectionsDir;
-import static io.spine.tools.mc.java.gradle.Projects.protoDir;
+import static org.gradle.api.tasks.PathSensitivity.RELATIVE;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
 
 /**
  * Generates source code of rejections.
@@ -70,50 +70,68 @@ import static io.spine.tools.mc.java.gradle.Projects.protoDir;
  * encloses an instance of the corresponding proto message.
  *
  * <p>The {@link McJavaOptions#indent} option sets the indentation of the generated source files.
+ *
+ * <p>All the data required by the task is captured as its inputs when the task is configured.
+ * The task does not access the project when it is executed.
  */
-final class RejectionGenAction extends CodeGenerationAction {
-
-    private final SourceSetName ssn;
+@CacheableTask
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class GenerateRejections extends DefaultTask implements Logging {
 
-    private RejectionGenAction(Project project,
-                               SourceSetName ssn,
-                               Supplier<String> protoSrcDir,
-                               Supplier<FileSet> protoFiles,
-                               Supplier<String> targetDir) {
-        super(project, protoFiles, targetDir, protoSrcDir);
-        this.ssn = checkNotNull(ssn);
-    }
+    /**
+     * The proto files of the source set.
+     */
+    @InputFiles
+    @PathSensitive(RELATIVE)
+    public abstract ConfigurableFileCollection getProtoFiles();
 
     /**
-     * Creates an action for generating Java source code for rejection types defined in proto
-     * files in the given sources set of the project.
+     * The descriptor set file of the source set.
+     *
+     * <p>The collection is expected to contain only one file, which may be absent if
+     * the source set does not have proto files.
      */
-    @SuppressWarnings("RedundantExplicitVariableType") // Avoid extra casts.
-    static Action<Task> create(Project project, SourceSetName ssn) {
-        Supplier<String> protoSrcDir = () -> protoDir(project, ssn).toString();
-        var protoFiles = ProtoFiles.collect(project, ssn);
-        Supplier<String> targetDir = () -> generatedRejectionsDir(project, ssn).toString();
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getDescriptorSet();
 
-        prepareSourceSets(project, ssn, targetDir);
+    /**
+     * The descriptor set with all the types known to the source set, including the types
+     * from the project dependencies.
+     */
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getKnownTypes();
 
-        return new RejectionGenAction(project, ssn, protoSrcDir, protoFiles, targetDir);
-    }
+    /**
+     * The size of the indent in the generated code.
+     */
+    @Input
+    public abstract Property<Integer> getIndent();
 
     /**
-     * Adds the given {@code targetDir} to the source set with the given name.
+     * The directory to put the generated code into.
      */
-    private static void prepareSourceSets(Project project,
-                                          SourceSetName ssn,
-                                          Supplier<String> targetDir) {
-        var sourceSets = getSourceSets(project);
-        var sourceSet = sourceSets.getByName(ssn.getValue());
-        var dir = project.provider(targetDir::get);
-        sourceSet.java(sds -> sds.srcDir(dir));
-    }
+    @OutputDirectory
+    public abstract DirectoryProperty getTargetDir();
 
-    @Override
-    public void execute(Task task) {
-        var files = protoFiles().get();
+    /**
+     * The build service which parses the descriptor set files.
+     */
+    @Internal
+    public abstract Property<DescriptorSetCache> getDescriptorSetCache();
+
+    @TaskAction
+    private void generate() {
+        var descriptorSetFile = getDescriptorSet().getSingleFile();
+        if (!descriptorSetFile.exists()) {
+            _debug().log("The descriptor set file `%s` does not exist.", descriptorSetFile);
+            return;
+        }
+        var cache = getDescriptorSetCache().get();
+        loadKnownTypes(cache);
+        var files = cache.knownFiles(descriptorSetFile);
         var rejectionFiles = rejectionsInSourceSet(files);
         _debug().log("Processing the file descriptors for the rejections `%s`.", rejectionFiles);
         for (var source : rejectionFiles) {
@@ -123,7 +141,21 @@ final class RejectionGenAction extends CodeGenerationAction {
     }
 
     /**
-     * Obtains all rejection files in the currently processed {@linkplain #ssn source set}.
+     * Extends the known type registry with the types merged by
+     * the {@code mergeDescriptorSet} task.
+     *
+     * <p>The merging task may be skipped as up-to-date, so the types are loaded here rather
+     * than by the merging task itself.
+     */
+    private void loadKnownTypes(DescriptorSetCache cache) {
+        getKnownTypes().getFiles()
+                       .stream()
+                       .filter(File::exists)
+                       .forEach(cache::extendKnownTypes);
+    }
+
+    /**
+     * Obtains all rejection files of the source set.
      */
     private ImmutableSet<RejectionsFile> rejectionsInSourceSet(FileSet allFiles) {
         var allRejections = RejectionsFile.findAll(allFiles);
@@ -135,13 +167,10 @@ final class RejectionGenAction extends CodeGenerationAction {
     }
 
     /**
-     * Obtains the predicate which accepts sources files belonging to currently served
-     * {@linkplain #ssn source set}.
+     * Obtains the predicate which accepts sources files belonging to the source set.
      */
     private Predicate<SourceFile> belongsToSourceSet() {
-        @Nullable FileCollection fileCollection = Projects.protoFiles(project(), ssn);
-        checkState(fileCollection != null, "No proto files found in the source set `%s`.", ssn);
-        Set<Path> protoFiles = fileCollection.getFiles()
+        Set<Path> protoFiles = getProtoFiles().getFiles()
                 .stream()
                 .map(File::toPath)
                 .collect(toImmutableSet());
@@ -158,7 +187,8 @@ final class RejectionGenAction extends CodeGenerationAction {
         if (rejections.isEmpty()) {
             return;
         }
-        var outputDir = targetDir().toPath();
+        var outputDir = getTargetDir().get().getAsFile().toPath();
+        var indent = Indent.of(getIndent().get());
         logGeneratingForFile(outputDir, source);
         for (var rejectionType : rejections) {
             // The name of the generated `ThrowableMessage` will be the same
@@ -166,7 +196,7 @@ final class RejectionGenAction extends CodeGenerationAction {
             _debug().log("Processing rejection `%s`.", rejectionType.simpleJavaClassName());
 
             TypeSpec spec = new RThrowableSpec(rejectionType);
-            var writer = new TypeSpecWriter(spec, indent());
+            var writer = new TypeSpecWriter(spec, indent);
             writer.write(outputDir);
         }
     }
@@ -183,9 +213,4 @@ final class RejectionGenAction extends CodeGenerationAction {
                 outputDir
         );
     }
-
-    @Override
-    protected Indent getIndent(Project project) {
-        return McJavaOptions.getIndent(project);
-    }
 }
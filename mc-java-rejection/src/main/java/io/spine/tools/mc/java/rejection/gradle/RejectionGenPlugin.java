@@ -26,17 +26,23 @@
 
 package io.spine.tools.mc.java.rejection.gradle;
 
-import com.google.common.collect.ImmutableList;
 import io.spine.tools.code.SourceSetName;
-import io.spine.tools.gradle.task.GradleTask;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
+import io.spine.tools.mc.java.gradle.McJavaOptions;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.tools.gradle.project.Projects.descriptorSetFile;
 import static io.spine.tools.gradle.project.Projects.getSourceSetNames;
+import static io.spine.tools.gradle.project.Projects.getSourceSets;
 import static io.spine.tools.gradle.task.JavaTaskName.compileJava;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.generateRejections;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.mergeDescriptorSet;
+import static io.spine.tools.mc.java.gradle.Projects.generatedRejectionsDir;
+import static io.spine.tools.mc.java.gradle.Projects.mergedDescriptorSetFile;
+import static io.spine.tools.mc.java.gradle.Projects.protoFiles;
 
 /**
  * Plugin which generates Rejections declared in {@code rejections.proto} files.
@@ -57,28 +63,55 @@ public final class RejectionGenPlugin implements Plugin<Project> {
      */
     @Override
     public void apply(Project project) {
-        var tasks = createTasks(project);
+        getSourceSetNames(project).forEach(ssn -> registerTask(ssn, project));
         project.getLogger().info(
-                "Rejection generation plugin initialized with tasks: `{}`.",
-                tasks
+                "Rejection generation plugin initialized for the source sets: `{}`.",
+                getSourceSetNames(project)
         );
     }
 
-    private static ImmutableList<GradleTask> createTasks(Project project) {
-        return getSourceSetNames(project).stream()
-                .map(ssn -> createTask(ssn, project))
-                .collect(toImmutableList());
+    private static void registerTask(SourceSetName ssn, Project project) {
+        addToSourceSet(project, ssn);
+        var tasks = project.getTasks();
+        var task = tasks.register(generateRejections(ssn).name(), GenerateRejections.class,
+                                  t -> configure(t, project, ssn));
+        tasks.named(compileJava(ssn).name())
+             .configure(t -> t.dependsOn(task));
     }
 
-    private static GradleTask createTask(SourceSetName ssn, Project project) {
-        var action = RejectionGenAction.create(project, ssn);
-        var rejections = generateRejections(ssn);
-        var mergeTask = mergeDescriptorSet(ssn);
-        var compileTask = compileJava(ssn);
-        var task = GradleTask.newBuilder(rejections, action)
-                .insertBeforeTask(compileTask)
-                .insertAfterTask(mergeTask)
-                .applyNowTo(project);
-        return task;
+    private static void configure(GenerateRejections task, Project project, SourceSetName ssn) {
+        task.dependsOn(mergeDescriptorSet(ssn).name());
+        task.getProtoFiles()
+            .from(project.provider(() -> protoFilesOf(project, ssn)));
+        task.getDescriptorSet()
+            .from(project.provider(() -> descriptorSetFile(project, ssn)));
+        task.getKnownTypes()
+            .from(project.provider(() -> mergedDescriptorSetFile(project, ssn).toFile()));
+        task.getIndent()
+            .set(project.provider(() -> McJavaOptions.getIndent(project).size()));
+        task.getTargetDir()
+            .fileProvider(project.provider(() -> generatedRejectionsDir(project, ssn).toFile()));
+        var cache = DescriptorSetCache.registerIn(project.getGradle());
+        task.getDescriptorSetCache()
+            .set(cache);
+        task.usesService(cache);
+    }
+
+    private static FileCollection protoFilesOf(Project project, SourceSetName ssn) {
+        @Nullable FileCollection files = protoFiles(project, ssn);
+        return files != null ? files : project.files();
+    }
+
+    /**
+     * Adds the directory with the generated rejections to the source set with the given name.
+     *
+     * <p>The directory is added regardless of whether the generating task is ever created,
+     * so that the previously generated code stays visible to the IDE and the compiler.
+     */
+    private static void addToSourceSet(Project project, SourceSetName ssn) {
+        var sourceSets = getSourceSets(project);
+        var sourceSet = sourceSets.getByName(ssn.getValue());
+        var dir = project.provider(() -> generatedRejectionsDir(project, ssn).toString());
+        sourceSet.java(sds -> sds.srcDir(dir));
     }
 }
@@ -54,6 +54,7 @@ dependencies {
     implementation(project(":mc-java-checks"))
     implementation(project(":mc-java-rejection"))
     implementation(project(":mc-java-protodata-params"))
+    implementation(project(":mc-java-protoc"))
 
     implementation("io.spine:protodata:$protoDataVersion")
     implementation("io.spine.protodata:protodata-compiler:$protoDataVersion")
@@ -25,17 +25,10 @@
  */
 package io.spine.tools.mc.java.gradle.plugins;
 
-import io.spine.tools.gradle.task.GradleTask;
 import io.spine.tools.mc.java.gradle.TempArtifactDirs;
-import org.gradle.api.Action;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 
-import java.io.File;
-
-import static com.google.common.flogger.LazyArgs.lazy;
-import static io.spine.io.Delete.deleteRecursively;
 import static io.spine.tools.gradle.task.BaseTaskName.clean;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.preClean;
 
@@ -48,39 +41,16 @@ public final class CleaningPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
-        var preCleanAction = new PreCleanAction(project);
-        var preCleanTask = GradleTask.newBuilder(preClean, preCleanAction)
-                .insertBeforeTask(clean)
-                .applyNowTo(project);
-        project.getLogger().debug("Pre-clean phase initialized: `{}`.", preCleanTask);
-    }
-
-    /**
-     * Recursively deletes {@linkplain TempArtifactDirs temp. artifact directories} in
-     * the given project.
-     */
-    private static class PreCleanAction implements Action<Task> {
-
-        private final Project project;
-
-        private PreCleanAction(Project project) {
-            this.project = project;
-        }
-
-        @Override
-        public void execute(Task task) {
-            var logger = project.getLogger();
-            var dirsToClean = TempArtifactDirs.getFor(project);
-            logger.debug(
-                    "Pre-clean: deleting the directories (`{}`).", lazy(dirsToClean::toString)
-            );
-            dirsToClean.stream()
-                    .map(File::toPath)
-                    .forEach(dir -> {
-                        logger.debug("Deleting directory `{}`...", dir);
-                        deleteRecursively(dir);
-                    });
-        }
+        var tasks = project.getTasks();
+        var trash = DirectoryTrash.registerIn(project.getGradle());
+        var preCleanTask = tasks.register(preClean.name(), PreClean.class, task -> {
+            task.getDirectories()
+                .from(project.provider(() -> TempArtifactDirs.getFor(project)));
+            task.getTrash().set(trash);
+            task.usesService(trash);
+        });
+        tasks.named(clean.name())
+             .configure(task -> task.dependsOn(preCleanTask));
+        project.getLogger().debug("Pre-clean phase initialized: `{}`.", preCleanTask.getName());
     }
 }
-
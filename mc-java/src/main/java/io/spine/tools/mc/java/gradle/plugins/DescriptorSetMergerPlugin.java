@@ -27,13 +27,9 @@
 package io.spine.tools.mc.java.gradle.plugins;
 
 import io.spine.tools.code.SourceSetName;
-import io.spine.tools.gradle.task.GradleTask;
-import io.spine.tools.type.FileDescriptorSuperset;
-import org.gradle.api.Action;
-import org.gradle.api.Buildable;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 
 import static io.spine.tools.gradle.JavaConfigurationName.runtimeClasspath;
 import static io.spine.tools.gradle.project.Projects.configuration;
@@ -42,44 +38,46 @@ import static io.spine.tools.gradle.project.Projects.getSourceSetNames;
 import static io.spine.tools.gradle.task.JavaTaskName.processResources;
 import static io.spine.tools.gradle.task.ProtobufTaskName.generateProto;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.mergeDescriptorSet;
+import static io.spine.tools.mc.java.gradle.Projects.mergedDescriptorSetFile;
 
 /**
  * A Gradle plugin which merges the descriptor file with all the descriptor files from
  * the project runtime classpath.
  *
- * <p>The merge result is used to {@linkplain
+ * <p>The descriptor sets of the dependencies are {@linkplain ExtractDescriptorSet extracted}
+ * by an artifact transform, so that each dependency is read only once. The merge result is
+ * written to the {@linkplain io.spine.tools.mc.java.gradle.Projects#mergedDescriptorSetFile
+ * merged descriptor set file}, which is used to {@linkplain
  * io.spine.tools.type.MoreKnownTypes#extendWith(java.io.File) extend the known type registry}.
  */
 final class DescriptorSetMergerPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
+        ExtractDescriptorSet.registerIn(project);
         getSourceSetNames(project).forEach(ssn -> createTask(project, ssn));
     }
 
     private static void createTask(Project project, SourceSetName ssn) {
-        var configuration = configuration(project, runtimeClasspath(ssn));
-        var dependencies = configuration.getAllDependencies();
-        var action = createMergingAction(ssn);
-        var task = GradleTask.newBuilder(mergeDescriptorSet(ssn), action)
-                .insertAfterTask(generateProto(ssn))
-                .insertBeforeTask(processResources(ssn))
-                .applyNowTo(project);
-        task.getTask().dependsOn(dependencies);
+        var tasks = project.getTasks();
+        var task = tasks.register(mergeDescriptorSet(ssn).name(), MergeDescriptorSet.class,
+                                  t -> configure(t, project, ssn));
+        tasks.named(processResources(ssn).name())
+             .configure(t -> t.dependsOn(task));
     }
 
-    private static Action<Task> createMergingAction(SourceSetName ssn) {
-        return task -> {
-            var superset = new FileDescriptorSuperset();
-            var project = task.getProject();
-            var configuration = configuration(project, runtimeClasspath(ssn));
-            configuration.forEach(superset::addFromDependency);
-            var descriptorSet = descriptorSetFile(project, ssn);
-            if (descriptorSet.exists()) {
-                superset.addFromDependency(descriptorSet);
-            }
-            superset.merge()
-                    .loadIntoKnownTypes();
-        };
+    private static void configure(MergeDescriptorSet task, Project project, SourceSetName ssn) {
+        task.dependsOn(generateProto(ssn).name());
+        var configuration = configuration(project, runtimeClasspath(ssn));
+        task.getDependencyDescriptorSets()
+            .from(ExtractDescriptorSet.descriptorSetsOf(configuration));
+        task.getOwnDescriptorSet()
+            .from(project.provider(() -> descriptorSetFile(project, ssn)));
+        task.getMergedDescriptorSet()
+            .set(mergedDescriptorSetFile(project, ssn).toFile());
+        var cache = DescriptorSetCache.registerIn(project.getGradle());
+        task.getDescriptorSetCache()
+            .set(cache);
+        task.usesService(cache);
     }
 }
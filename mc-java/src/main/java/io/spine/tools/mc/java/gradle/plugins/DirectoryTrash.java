@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.common.flogger.FluentLogger;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.io.Delete.deleteRecursively;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A build service which deletes directories in the background.
+ *
+ * <p>A directory is first atomically renamed to a trash directory, so that its original
+ * location is free immediately. The content of the trash directory is then deleted in parallel
+ * by the background threads, while the build goes on. The service waits for the deletion to
+ * complete when it is closed at the end of the build.
+ *
+ * <p>The trash directory is created in the given temporary directory, e.g. under
+ * {@code build/tmp}, so that it never appears in the source tree. An atomic rename cannot
+ * cross file systems, so if the temporary directory is on another file system, the trash
+ * directory is created next to the disposed one.
+ *
+ * <p>If a directory cannot be renamed, e.g. because a file in it is locked, the directory
+ * is deleted synchronously.
+ *
+ * <p>The trash directories left by an interrupted build are deleted when a directory with
+ * the same name is disposed next time.
+ */
+@SuppressWarnings("AbstractClassNeverImplemented") // Gradle creates a subtype for this class.
+public abstract class DirectoryTrash
+        implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    private static final FluentLogger log = FluentLogger.forEnclosingClass();
+
+    /**
+     * The name under which the service is registered in the build.
+     */
+    private static final String NAME = "spineDirectoryTrash";
+
+    /**
+     * The marker in the names of the trash directories.
+     */
+    private static final String TRASH_MARKER = ".mc-java-trash-";
+
+    /**
+     * The number of minutes to wait for the deletion at the end of the build.
+     */
+    private static final long TIMEOUT_MINUTES = 10;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            task -> {
+                var thread = new Thread(task, "mc-java-trash-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Registers the service in the given build, if it is not registered yet.
+     */
+    static Provider<DirectoryTrash> registerIn(Gradle gradle) {
+        checkNotNull(gradle);
+        return gradle.getSharedServices()
+                     .registerIfAbsent(NAME, DirectoryTrash.class, spec -> {});
+    }
+
+    /**
+     * Removes the given directory, deleting its content in the background.
+     *
+     * @param dir
+     *         the directory to remove
+     * @param tempDir
+     *         the directory to place the trash into if it is on the same file system
+     *         as the removed directory
+     */
+    void dispose(Path dir, Path tempDir) {
+        checkNotNull(dir);
+        checkNotNull(tempDir);
+        disposeLeftovers(dir, tempDir);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        var trash = trashFor(dir, tempDir);
+        try {
+            Files.move(dir, trash, ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.atFine()
+               .withCause(e)
+               .log("Unable to move `%s` to the trash. Deleting synchronously.", dir);
+            deleteRecursively(dir);
+            return;
+        }
+        deleteInBackground(trash);
+    }
+
+    /**
+     * Obtains the path to move the given directory to.
+     *
+     * <p>The path is in the given temporary directory if it is on the same file store as
+     * the disposed directory. Otherwise, the path is a sibling of the disposed directory.
+     */
+    private static Path trashFor(Path dir, Path tempDir) {
+        var name = trashPrefix(dir) + System.nanoTime();
+        if (sameFileStore(dir, tempDir)) {
+            return tempDir.resolve(name);
+        }
+        return dir.resolveSibling(name);
+    }
+
+    private static boolean sameFileStore(Path dir, Path tempDir) {
+        try {
+            Files.createDirectories(tempDir);
+            return Objects.equals(Files.getFileStore(dir), Files.getFileStore(tempDir));
+        } catch (IOException e) {
+            log.atFine()
+               .withCause(e)
+               .log("Unable to use `%s` for the trash of `%s`.", tempDir, dir);
+            return false;
+        }
+    }
+
+    private static String trashPrefix(Path dir) {
+        return '.' + dir.getFileName().toString() + TRASH_MARKER;
+    }
+
+    /**
+     * Deletes the trash directories of the given directory left by the previous builds.
+     *
+     * <p>Looks for the trash both in the temporary directory and next to the disposed
+     * directory, as either of them could be used by a previous build.
+     */
+    private void disposeLeftovers(Path dir, Path tempDir) {
+        var prefix = trashPrefix(dir);
+        var parent = dir.toAbsolutePath().getParent();
+        if (parent != null) {
+            disposeLeftovers(parent, prefix);
+        }
+        disposeLeftovers(tempDir.toAbsolutePath(), prefix);
+    }
+
+    private void disposeLeftovers(Path location, String prefix) {
+        if (!Files.isDirectory(location)) {
+            return;
+        }
+        try (var entries = Files.list(location)) {
+            entries.filter(path -> path.getFileName().toString().startsWith(prefix))
+                   .collect(toList())
+                   .forEach(this::deleteInBackground);
+        } catch (IOException e) {
+            log.atFine()
+               .withCause(e)
+               .log("Unable to look for the trash directories in `%s`.", location);
+        }
+    }
+
+    /**
+     * Deletes the entries of the given directory in parallel and then the directory itself.
+     */
+    private void deleteInBackground(Path trash) {
+        List<CompletableFuture<Void>> entries = new ArrayList<>();
+        try (var children = Files.list(trash)) {
+            children.collect(toList())
+                    .forEach(child -> entries.add(
+                            CompletableFuture.runAsync(() -> delete(child), executor)));
+        } catch (IOException e) {
+            log.atFine()
+               .withCause(e)
+               .log("Unable to list the trash directory `%s`.", trash);
+        }
+        CompletableFuture.allOf(entries.toArray(new CompletableFuture<?>[0]))
+                         .whenComplete((result, error) -> delete(trash));
+    }
+
+    private static void delete(Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                deleteRecursively(path);
+            } else {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (Files.notExists(path)) {
+                // Deleted concurrently, e.g. by the `clean` task deleting the build directory.
+                return;
+            }
+            log.atWarning()
+               .withCause(e)
+               .log("Unable to delete `%s`.", path);
+        }
+    }
+
+    /**
+     * Waits for the deletion of the disposed directories to complete.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            log.atWarning()
+               .log("The trash directories were not deleted in %d minutes.", TIMEOUT_MINUTES);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import static io.spine.code.proto.FileDescriptors.DESC_EXTENSION;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * An artifact transform which extracts the descriptor sets from a dependency JAR or directory.
+ *
+ * <p>All the descriptor set files found in the root of the JAR or the directory are parsed and
+ * merged into one descriptor set, which becomes the result of the transform. If there are no
+ * descriptor sets, the transform produces no result.
+ *
+ * <p>Directories come from file dependencies, such as {@code files("build/resources/main")}.
+ *
+ * <p>Gradle caches the results of the transform by the content of the input. Therefore,
+ * each dependency is read and parsed only once, no matter how many builds and projects
+ * use it.
+ */
+@CacheableTransform
+@SuppressWarnings("AbstractClassNeverImplemented") // Gradle creates a subtype for this class.
+public abstract class ExtractDescriptorSet implements TransformAction<TransformParameters.None> {
+
+    /**
+     * The type of artifacts produced by this transform.
+     */
+    private static final String DESCRIPTOR_SET_TYPE = "spine-descriptor-set";
+
+    private static final String JAR_TYPE = ArtifactTypeDefinition.JAR_TYPE;
+
+    private static final String DIRECTORY_TYPE = ArtifactTypeDefinition.DIRECTORY_TYPE;
+
+    private static final Attribute<String> ARTIFACT_TYPE =
+            Attribute.of("artifactType", String.class);
+
+    /**
+     * The JAR or the directory to extract descriptor sets from.
+     */
+    @InputArtifact
+    @Classpath
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    /**
+     * Registers this transform in the given project.
+     */
+    static void registerIn(Project project) {
+        registerFrom(project, JAR_TYPE);
+        registerFrom(project, DIRECTORY_TYPE);
+    }
+
+    private static void registerFrom(Project project, String artifactType) {
+        project.getDependencies()
+               .registerTransform(ExtractDescriptorSet.class, spec -> {
+                   spec.getFrom().attribute(ARTIFACT_TYPE, artifactType);
+                   spec.getTo().attribute(ARTIFACT_TYPE, DESCRIPTOR_SET_TYPE);
+               });
+    }
+
+    /**
+     * Obtains the descriptor sets extracted from the dependencies of the given configuration.
+     *
+     * <p>The configuration is resolved only when the returned collection is queried.
+     */
+    static FileCollection descriptorSetsOf(Configuration configuration) {
+        return configuration.getIncoming()
+                            .artifactView(view -> view.getAttributes()
+                                                      .attribute(ARTIFACT_TYPE,
+                                                                 DESCRIPTOR_SET_TYPE))
+                            .getFiles();
+    }
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        var dependency = getInputArtifact().get().getAsFile();
+        if (!dependency.exists()) {
+            return;
+        }
+        var descriptorSet = read(dependency);
+        if (descriptorSet.getFileCount() == 0) {
+            return;
+        }
+        var output = outputs.file(dependency.getName() + DESC_EXTENSION);
+        try {
+            Files.write(output.toPath(), descriptorSet.toByteArray());
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the descriptor set extracted from `%s`.", dependency
+            );
+        }
+    }
+
+    /**
+     * Reads all the descriptor sets from the root of the given JAR or directory into
+     * one descriptor set.
+     *
+     * <p>If the same proto file is declared by several descriptor sets, the first occurrence
+     * is taken.
+     */
+    @VisibleForTesting
+    static FileDescriptorSet read(File dependency) {
+        Map<String, FileDescriptorProto> files = new LinkedHashMap<>();
+        if (dependency.isDirectory()) {
+            readDirectory(dependency, files);
+        } else {
+            readJar(dependency, files);
+        }
+        return FileDescriptorSet.newBuilder()
+                .addAllFile(files.values())
+                .build();
+    }
+
+    private static void readJar(File jar, Map<String, FileDescriptorProto> files) {
+        try (var zip = new ZipFile(jar)) {
+            var entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                var name = entry.getName();
+                if (entry.isDirectory() || name.contains("/") || !name.endsWith(DESC_EXTENSION)) {
+                    continue;
+                }
+                try (InputStream stream = zip.getInputStream(entry)) {
+                    addFrom(stream, files);
+                }
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read descriptor sets from `%s`.", jar
+            );
+        }
+    }
+
+    /**
+     * Reads the descriptor sets from the root of the given directory.
+     *
+     * <p>The files are read in the order of their names, so that the result does not depend
+     * on the order in which the file system lists them.
+     */
+    private static void readDirectory(File directory, Map<String, FileDescriptorProto> files) {
+        try (var paths = Files.list(directory.toPath())) {
+            var descriptorSets = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(DESC_EXTENSION))
+                    .sorted()
+                    .toArray(Path[]::new);
+            for (var path : descriptorSets) {
+                try (InputStream stream = Files.newInputStream(path)) {
+                    addFrom(stream, files);
+                }
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read descriptor sets from `%s`.", directory
+            );
+        }
+    }
+
+    private static void addFrom(InputStream stream, Map<String, FileDescriptorProto> files)
+            throws IOException {
+        var descriptorSet = FileDescriptorSet.parseFrom(stream);
+        descriptorSet.getFileList()
+                     .forEach(file -> files.putIfAbsent(file.getName(), file));
+    }
+}
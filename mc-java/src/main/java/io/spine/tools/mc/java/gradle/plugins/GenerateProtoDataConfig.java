@@ -32,12 +32,13 @@ import io.spine.validation.MessageMarkers;
 import io.spine.validation.ValidationConfig;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.IOException;
 
-import static io.spine.tools.mc.java.gradle.Projects.getMcJava;
 import static java.nio.file.Files.write;
 import static java.util.stream.Collectors.toSet;
 
@@ -63,10 +64,15 @@ public abstract class GenerateProtoDataConfig extends DefaultTask {
     @OutputFile
     public abstract RegularFileProperty getTargetFile();
 
+    /**
+     * The code generation options of the project.
+     */
+    @Input
+    public abstract Property<CodegenOptions> getCodegenOptions();
+
     @TaskAction
     private void writeFile() throws IOException {
-        var options = getMcJava(getProject());
-        var codegen = options.codegen.toProto();
+        var codegen = getCodegenOptions().get();
         var makers = MessageMarkers.newBuilder()
                 .addAllCommandPattern(codegen.getCommands().getPatternList())
                 .addAllEventPattern(codegen.getEvents().getPatternList())
@@ -77,7 +83,7 @@ public abstract class GenerateProtoDataConfig extends DefaultTask {
         var config = ValidationConfig.newBuilder()
                 .setMessageMarkers(makers)
                 .build();
-        var file = getProject().file(getTargetFile());
+        var file = getTargetFile().get().getAsFile();
         file.getParentFile().mkdirs();
         write(file.toPath(), config.toByteArray());
     }
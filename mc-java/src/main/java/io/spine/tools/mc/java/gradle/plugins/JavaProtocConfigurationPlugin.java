@@ -27,37 +27,48 @@
 package io.spine.tools.mc.java.gradle.plugins;
 
 import com.google.protobuf.gradle.ExecutableLocator;
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.gradle.GenerateProtoTask;
-import io.spine.code.proto.DescriptorReference;
 import io.spine.tools.gradle.ProtocConfigurationPlugin;
 import io.spine.tools.code.SourceSetName;
-import io.spine.tools.gradle.task.GradleTask;
+import io.spine.tools.mc.java.gradle.McJavaBuildReport;
 import org.gradle.api.Action;
 import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.file.SourceDirectorySet;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskProvider;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
-import static io.spine.io.Ensure.ensureFile;
 import static io.spine.tools.gradle.ProtocPluginName.grpc;
 import static io.spine.tools.gradle.ProtocPluginName.spineProtoc;
 import static io.spine.tools.gradle.task.BaseTaskName.clean;
+import static io.spine.tools.gradle.task.JavaTaskName.compileJava;
 import static io.spine.tools.gradle.task.JavaTaskName.processResources;
 import static io.spine.tools.gradle.task.Tasks.getSourceSetName;
+import static io.spine.tools.mc.java.StandardTypes.performanceReportFile;
 import static io.spine.tools.mc.java.StandardTypes.toBase64Encoded;
 import static io.spine.tools.mc.java.gradle.Artifacts.SPINE_MC_JAVA_ALL_PLUGINS_NAME;
 import static io.spine.tools.mc.java.gradle.Artifacts.gRpcProtocPlugin;
 import static io.spine.tools.mc.java.gradle.Artifacts.spineJavaAllPlugins;
+import static io.spine.tools.mc.java.gradle.McJavaTaskName.annotateProto;
+import static io.spine.tools.mc.java.gradle.McJavaTaskName.runProtocPlugin;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.writeDescriptorReference;
 import static io.spine.tools.mc.java.gradle.McJavaTaskName.writePluginConfiguration;
+import static io.spine.tools.mc.java.gradle.McJavaTaskName.writeProtocPluginLauncher;
+import static io.spine.tools.mc.java.gradle.plugins.WriteDescriptorReference.REFERENCE_FILE;
+import static io.spine.tools.mc.java.gradle.plugins.WriteProtocPluginLauncher.currentJava;
+import static io.spine.tools.mc.java.gradle.plugins.WriteProtocPluginLauncher.currentJavaVersion;
+import static io.spine.tools.mc.java.gradle.Projects.generatedJavaDir;
 import static io.spine.tools.mc.java.gradle.Projects.getMcJava;
-import static io.spine.util.Exceptions.newIllegalStateException;
+import static io.spine.tools.mc.java.gradle.Projects.inProcessJavaDir;
+import static io.spine.tools.mc.java.gradle.Projects.protoFiles;
+import static io.spine.tools.mc.java.gradle.Projects.removeJavaSrcDirs;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
 
 /**
  * A Gradle plugin that performs additional {@code protoc} configurations relevant
@@ -65,15 +76,74 @@ import static io.spine.util.Exceptions.newIllegalStateException;
  */
 public final class JavaProtocConfigurationPlugin extends ProtocConfigurationPlugin {
 
+    /**
+     * The name of the configuration resolving the fat JAR of the Spine {@code protoc} plugin
+     * for the {@linkplain WriteProtocPluginLauncher launcher}.
+     */
+    private static final String PROTOC_PLUGIN_CONFIGURATION = "spineProtocPlugin";
+
+    /**
+     * The name of the script launching the Spine {@code protoc} plugin.
+     */
+    private static final String LAUNCHER_NAME = "protoc-gen-spine-protoc.sh";
+
+    /**
+     * The name of the directory for the {@code mc-java} caches in the Gradle user home.
+     */
+    private static final String MC_JAVA_CACHE_DIR = "spine-mc-java";
+
     @Override
     protected void
     configureProtocPlugins(NamedDomainObjectContainer<ExecutableLocator> plugins, Project project) {
         plugins.create(grpc.name(),
                        locator -> locator.setArtifact(gRpcProtocPlugin().notation())
         );
-        plugins.create(spineProtoc.name(),
-                       locator -> locator.setArtifact(spineJavaAllPlugins().notation())
-        );
+        plugins.create(spineProtoc.name(), locator -> {
+            if (WriteProtocPluginLauncher.enabledFor(project)) {
+                var launcher = registerLauncherTask(project);
+                locator.setPath(launcher.toString());
+            } else {
+                locator.setArtifact(spineJavaAllPlugins().notation());
+            }
+        });
+    }
+
+    /**
+     * Registers the task writing the script which launches the Spine {@code protoc} plugin
+     * with the AppCDS archive.
+     *
+     * @return the path to the launcher script
+     * @see WriteProtocPluginLauncher
+     */
+    private static Path registerLauncherTask(Project project) {
+        var configuration = project.getConfigurations().create(
+                PROTOC_PLUGIN_CONFIGURATION, c -> {
+                    c.setVisible(false);
+                    c.setTransitive(false);
+                });
+        project.getDependencies()
+               .add(configuration.getName(), spineJavaAllPlugins().notation());
+        var launcher = pluginTempDir(project).resolve(LAUNCHER_NAME);
+        var archiveDir = project.getGradle()
+                                .getGradleUserHomeDir()
+                                .toPath()
+                                .resolve(Paths.get("caches", MC_JAVA_CACHE_DIR, "cds"))
+                                .resolve(currentJavaVersion());
+        project.getTasks().register(
+                writeProtocPluginLauncher.name(), WriteProtocPluginLauncher.class, task -> {
+                    task.getPluginJar().from(configuration);
+                    task.getJavaExecutable().set(currentJava());
+                    task.getArchiveDir().set(archiveDir.toString());
+                    task.getLauncher().set(launcher.toFile());
+                });
+        return launcher;
+    }
+
+    private static Path pluginTempDir(Project project) {
+        var buildDir = project.getBuildDir();
+        var result =
+                Paths.get(buildDir.getAbsolutePath(), "tmp", SPINE_MC_JAVA_ALL_PLUGINS_NAME);
+        return result;
     }
 
     @Override
@@ -113,15 +183,22 @@ public final class JavaProtocConfigurationPlugin extends ProtocConfigurationPlug
             customizeDescriptorSetGeneration();
             addTaskDependency();
             addPlugins();
+            reportPerformance();
         }
 
         private void customizeDescriptorSetGeneration() {
             setResourceDirectory();
+            var tasks = project.getTasks();
             var taskName = writeDescriptorReference(sourceSetName);
-            var writeRef = GradleTask.newBuilder(taskName, writeRefFile())
-                    .insertBeforeTask(processResources(sourceSetName))
-                    .applyNowTo(project);
-            protocTask.finalizedBy(writeRef.getTask());
+            var writeRef = tasks.register(
+                    taskName.name(), WriteDescriptorReference.class, task -> {
+                        task.getDescriptorSetFile().set(descriptorFile);
+                        task.getReferenceFile()
+                            .set(new File(descriptorFile.getParentFile(), REFERENCE_FILE));
+                    });
+            tasks.named(processResources(sourceSetName).name())
+                 .configure(task -> task.dependsOn(writeRef));
+            protocTask.finalizedBy(writeRef);
         }
 
         private void setResourceDirectory() {
@@ -133,22 +210,32 @@ public final class JavaProtocConfigurationPlugin extends ProtocConfigurationPlug
                       .srcDir(resourceDirectory);
         }
 
-        private Action<Task> writeRefFile() {
-            return task -> {
-                var resourceDirectory = descriptorFile.toPath().getParent();
-                var reference = DescriptorReference.toOneFile(descriptorFile);
-                reference.writeTo(resourceDirectory);
-            };
-        }
-
+        /**
+         * Makes the {@code protoc} task depend on the tasks preparing the Spine
+         * {@code protoc} plugin.
+         *
+         * <p>The configuration of the plugin becomes an input of the {@code protoc} task, so that
+         * the task is re-run when the configuration changes, and stays up-to-date otherwise.
+         */
         private void addTaskDependency() {
             var writeConfig = writePluginConfigTask();
             protocTask.dependsOn(writeConfig);
+            protocTask.getInputs()
+                      .file(spineProtocConfigFile().toFile())
+                      .withPropertyName("spineProtocConfig")
+                      .withPathSensitivity(NONE);
+            if (WriteProtocPluginLauncher.enabledFor(project)) {
+                protocTask.dependsOn(writeProtocPluginLauncher.name());
+            }
         }
 
         private void addPlugins() {
             var plugins = protocTask.getPlugins();
             plugins.create(grpc.name());
+            if (getMcJava(project).codegen.shouldGenerateInProcess()) {
+                runPluginInProcess();
+                return;
+            }
             plugins.create(spineProtoc.name(),
                             options -> {
                                 options.setOutputSubDir("java");
@@ -158,6 +245,77 @@ public final class JavaProtocConfigurationPlugin extends ProtocConfigurationPlug
                             });
         }
 
+        /**
+         * Registers the task running the Spine {@code protoc} plugin in the build process
+         * after {@code protoc} completes.
+         *
+         * <p>The new task writes the complete Java code into its own directory, which replaces
+         * the directory of the code generated by {@code protoc} among the Java sources of
+         * the source set. The tasks consuming the generated Java code are made to depend on
+         * the new task.
+         */
+        private void runPluginInProcess() {
+            var configFile = spineProtocConfigFile().toFile();
+            var tasks = project.getTasks();
+            var protocOutputDir = generatedJavaDir(project, sourceSetName);
+            var launchProtoData = "launch" + sourceSetName.toInfix() + "ProtoData";
+            var runPlugin = tasks.register(
+                    runProtocPlugin(sourceSetName).name(), RunProtocPlugin.class, task -> {
+                        task.dependsOn(protocTask);
+                        task.dependsOn(tasks.matching(t -> t.getName().equals(launchProtoData)));
+                        task.getDescriptorSet()
+                            .fileProvider(project.provider(
+                                    () -> descriptorFile.exists() ? descriptorFile : null));
+                        task.getConfigFile().set(configFile);
+                        task.getShards()
+                            .set(project.provider(
+                                    () -> getMcJava(project).codegen.inProcessShards()));
+                        var protoFiles = protoFiles(project, sourceSetName);
+                        if (protoFiles != null) {
+                            task.getProtoFiles().from(protoFiles);
+                        }
+                        if (protoFiles instanceof SourceDirectorySet) {
+                            task.getProtoDirs()
+                                .from(((SourceDirectorySet) protoFiles).getSrcDirs());
+                        }
+                        task.getProtocOutputDir()
+                            .set(protocOutputDir.toFile());
+                        task.getOutputDir()
+                            .set(inProcessJavaDir(project, sourceSetName).toFile());
+                    });
+            protocTask.finalizedBy(runPlugin);
+            if (removeJavaSrcDirs(project, sourceSetName, ImmutableSet.of(protocOutputDir))) {
+                protocTask.getSourceSet()
+                          .getJava()
+                          .srcDir(runPlugin.flatMap(RunProtocPlugin::getOutputDir));
+            }
+            var consumers = ImmutableSet.of(
+                    compileJava(sourceSetName).name(),
+                    annotateProto(sourceSetName).name()
+            );
+            tasks.matching(task -> consumers.contains(task.getName()))
+                 .configureEach(task -> task.dependsOn(runPlugin));
+        }
+
+        /**
+         * Makes the {@code protoc} task announce the performance report of
+         * the Spine {@code protoc} plugin, if one was written during the task execution.
+         *
+         * <p>If the {@linkplain McJavaBuildReport build report} is turned on, the report of
+         * the plugin is attached to it.
+         *
+         * @see io.spine.tools.mc.java.gradle.codegen.CodegenOptionsConfig#reportPerformance()
+         */
+        private void reportPerformance() {
+            var reportFile = performanceReportFile(spineProtocConfigFile()).toFile();
+            protocTask.doLast(new AnnouncePerformanceReport(reportFile));
+            if (McJavaBuildReport.enabledFor(project)) {
+                var buildReport = McJavaBuildReport.registerIn(project.getGradle());
+                protocTask.usesService(buildReport);
+                protocTask.doLast(new AttachPerformanceReport(buildReport, reportFile));
+            }
+        }
+
         /**
          * Obtains a name of a configuration file which would be
          * passed to {@code io.spine.tools.mc.java.protoc.Plugin} taking into account
@@ -172,54 +330,70 @@ public final class JavaProtocConfigurationPlugin extends ProtocConfigurationPlug
             var fileName = prefix.isEmpty()
                            ? CONFIG_PB
                            : prefix + '-' + CONFIG_PB;
-            var configFile = pluginTempDir().resolve(fileName);
+            var configFile = pluginTempDir(project).resolve(fileName);
             return configFile;
         }
 
-        private Path pluginTempDir() {
-            var buildDir = project.getBuildDir();
-            var result =
-                    Paths.get(buildDir.getAbsolutePath(), "tmp", SPINE_MC_JAVA_ALL_PLUGINS_NAME);
-            return result;
-        }
-
         /**
-         * Creates a new {@code writePluginConfiguration} task
+         * Registers a new {@code writePluginConfiguration} task
          * that is expected to run after the {@code clean} task.
          */
-        private Task writePluginConfigTask() {
+        private TaskProvider<WritePluginConfiguration> writePluginConfigTask() {
             var taskName = writePluginConfiguration(sourceSetName);
-            return GradleTask.newBuilder(taskName, writePluginConfig())
-                    .allowNoDependencies()
-                    .applyNowTo(project)
-                    .getTask()
-                    .mustRunAfter(clean.name());
+            return project.getTasks().register(
+                    taskName.name(), WritePluginConfiguration.class, task -> {
+                        task.getOptions()
+                            .set(project.provider(() -> getMcJava(project).codegen.toProto()));
+                        task.getConfigFile()
+                            .set(spineProtocConfigFile().toFile());
+                        task.mustRunAfter(clean.name());
+                    });
         }
+    }
+
+    /**
+     * Logs the location of the performance report written by
+     * the Spine {@code protoc} plugin.
+     *
+     * <p>Holds only the report file, so that the action is compatible with
+     * the Gradle configuration cache.
+     */
+    private static final class AnnouncePerformanceReport implements Action<Task> {
+
+        private final File reportFile;
+
+        private AnnouncePerformanceReport(File reportFile) {
+            this.reportFile = reportFile;
+        }
+
+        @Override
+        public void execute(Task task) {
+            if (reportFile.exists()) {
+                task.getLogger()
+                    .lifecycle("Code generation performance report: `{}`.", reportFile);
+            }
+        }
+    }
+
+    /**
+     * Attaches the performance report written by the Spine {@code protoc} plugin to
+     * the {@linkplain McJavaBuildReport build report}.
+     */
+    private static final class AttachPerformanceReport implements Action<Task> {
+
+        private final Provider<McJavaBuildReport> buildReport;
+        private final File reportFile;
 
-        private Action<Task> writePluginConfig() {
-            return task -> {
-                var configFile = spineProtocConfigFile();
-                var options = getMcJava(project);
-                var codegenOptions = options.codegen.toProto();
-
-                ensureFile(configFile);
-                try (var fos = new FileOutputStream(configFile.toFile())) {
-                    codegenOptions.writeTo(fos);
-                } catch (FileNotFoundException e) {
-                    throw errorOn("create", e, configFile);
-                } catch (IOException e) {
-                    throw errorOn("store", e, configFile);
-                }
-            };
+        private AttachPerformanceReport(Provider<McJavaBuildReport> buildReport,
+                                        File reportFile) {
+            this.buildReport = buildReport;
+            this.reportFile = reportFile;
         }
 
-        private static
-        IllegalStateException errorOn(String action, IOException cause, Path configFile) {
-            return newIllegalStateException(
-                    cause,
-                    "Unable to %s Spine Protoc Plugin configuration file at: `%s`.",
-                    action,
-                    configFile);
+        @Override
+        public void execute(Task task) {
+            buildReport.get()
+                       .attachProtocReport(task.getPath(), reportFile);
         }
     }
 }
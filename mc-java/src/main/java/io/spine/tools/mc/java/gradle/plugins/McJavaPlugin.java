@@ -29,11 +29,14 @@ import io.spine.logging.Logging;
 import io.spine.tools.mc.gradle.LanguagePlugin;
 import io.spine.tools.mc.java.annotation.gradle.AnnotatorPlugin;
 import io.spine.tools.mc.java.checks.gradle.McJavaChecksPlugin;
+import io.spine.tools.mc.java.gradle.McJavaBuildReport;
 import io.spine.tools.mc.java.gradle.McJavaOptions;
 import io.spine.tools.mc.java.rejection.gradle.RejectionGenPlugin;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.build.event.BuildEventsListenerRegistry;
 
+import javax.inject.Inject;
 import java.util.stream.Stream;
 
 import static io.spine.tools.mc.java.gradle.Projects.getMcJava;
@@ -46,8 +49,18 @@ import static kotlin.jvm.JvmClassMappingKt.getKotlinClass;
  */
 public class McJavaPlugin extends LanguagePlugin implements Logging {
 
-    public McJavaPlugin() {
+    private final BuildEventsListenerRegistry listeners;
+
+    /**
+     * Creates the plugin.
+     *
+     * <p>Gradle injects the registry of the build event listeners, which is used by
+     * the {@linkplain McJavaBuildReport build report}.
+     */
+    @Inject
+    public McJavaPlugin(BuildEventsListenerRegistry listeners) {
         super(McJavaOptions.name(), getKotlinClass(McJavaOptions.class));
+        this.listeners = listeners;
     }
 
     @Override
@@ -56,6 +69,9 @@ public class McJavaPlugin extends LanguagePlugin implements Logging {
         var extension = getMcJava(project);
         extension.injectProject(project);
         createAndApplyPluginsIn(project);
+        if (McJavaBuildReport.enabledFor(project)) {
+            McJavaBuildReport.track(project, listeners);
+        }
     }
 
     /**
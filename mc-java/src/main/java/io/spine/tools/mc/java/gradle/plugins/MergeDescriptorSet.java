@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import io.spine.tools.mc.java.gradle.DescriptorSetCache;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
+
+/**
+ * A task which merges the descriptor set of a source set with the descriptor sets of
+ * the source set dependencies.
+ *
+ * <p>The resulting descriptor set contains all the types known to the source set.
+ * The files in the result are sorted by name, so that the result does not depend on
+ * the order of the dependencies.
+ *
+ * <p>If the same proto file is declared in several descriptor sets, the declaration from
+ * the source set itself wins.
+ */
+@CacheableTask
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class MergeDescriptorSet extends DefaultTask {
+
+    /**
+     * The descriptor set produced for the source set.
+     *
+     * <p>The collection is expected to contain only one file, which may be absent if
+     * the source set does not have proto files.
+     */
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getOwnDescriptorSet();
+
+    /**
+     * The descriptor sets {@linkplain ExtractDescriptorSet extracted} from the dependencies
+     * of the source set.
+     */
+    @InputFiles
+    @PathSensitive(NONE)
+    public abstract ConfigurableFileCollection getDependencyDescriptorSets();
+
+    /**
+     * The file to write the merged descriptor set to.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getMergedDescriptorSet();
+
+    /**
+     * The build service which parses the descriptor set files.
+     *
+     * <p>The descriptor sets of the widely used dependencies are merged in many source sets
+     * of the build, but parsed only once.
+     */
+    @Internal
+    public abstract Property<DescriptorSetCache> getDescriptorSetCache();
+
+    @TaskAction
+    private void merge() {
+        var cache = getDescriptorSetCache().get();
+        Map<String, FileDescriptorProto> files = new TreeMap<>();
+        getOwnDescriptorSet().forEach(file -> addTo(files, file, cache));
+        getDependencyDescriptorSets().forEach(file -> addTo(files, file, cache));
+        var merged = FileDescriptorSet.newBuilder()
+                .addAllFile(files.values())
+                .build();
+        var target = getMergedDescriptorSet().get().getAsFile();
+        try {
+            Files.createDirectories(target.toPath().getParent());
+            Files.write(target.toPath(), merged.toByteArray());
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the merged descriptor set to `%s`.", target
+            );
+        }
+    }
+
+    private static void addTo(Map<String, FileDescriptorProto> files,
+                              File descriptorSetFile,
+                              DescriptorSetCache cache) {
+        if (!descriptorSetFile.isFile()) {
+            return;
+        }
+        cache.descriptorSet(descriptorSetFile)
+             .getFileList()
+             .forEach(file -> files.putIfAbsent(file.getName(), file));
+    }
+}
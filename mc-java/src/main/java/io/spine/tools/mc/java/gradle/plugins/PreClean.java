@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import io.spine.tools.mc.java.gradle.TempArtifactDirs;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Destroys;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+
+import static com.google.common.flogger.LazyArgs.lazy;
+
+/**
+ * Recursively deletes {@linkplain TempArtifactDirs temp. artifact directories} of a project.
+ *
+ * <p>The directories are obtained when the task is configured, so that the task
+ * does not access the project when it is executed.
+ *
+ * <p>The directories are moved to the {@linkplain DirectoryTrash trash} and their content is
+ * deleted in the background, so that the build does not wait for the deletion of large
+ * generated trees. The trash is placed into the {@linkplain #getTemporaryDir() temporary
+ * directory} of the task when possible.
+ */
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class PreClean extends DefaultTask {
+
+    /**
+     * The directories to delete.
+     */
+    @Destroys
+    public abstract ConfigurableFileCollection getDirectories();
+
+    /**
+     * The service deleting the directories.
+     */
+    @Internal
+    public abstract Property<DirectoryTrash> getTrash();
+
+    @TaskAction
+    private void deleteDirectories() {
+        var logger = getLogger();
+        var dirsToClean = getDirectories().getFiles();
+        logger.debug(
+                "Pre-clean: deleting the directories (`{}`).", lazy(dirsToClean::toString)
+        );
+        var trash = getTrash().get();
+        var tempDir = getTemporaryDir().toPath();
+        dirsToClean.stream()
+                .filter(File::exists)
+                .map(File::toPath)
+                .forEach(dir -> {
+                    logger.debug("Deleting directory `{}`...", dir);
+                    trash.dispose(dir, tempDir);
+                });
+    }
+}
@@ -129,6 +129,8 @@ final class ProtoDataConfigPlugin implements Plugin<Project> {
                                 .getBuildDirectory()
                                 .file(CONFIG_SUBDIR + separatorChar + fileName);
         targetFile.convention(defaultFile);
+        t.getCodegenOptions()
+         .set(target.provider(() -> getMcJava(target).codegen.toProto()));
         task.getConfiguration()
             .set(targetFile);
     }
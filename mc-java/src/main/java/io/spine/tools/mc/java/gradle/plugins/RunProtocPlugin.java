@@ -0,0 +1,272 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import io.spine.tools.mc.java.protoc.InProcessPlugin;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Path;
+
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.Comparator.comparingInt;
+import static org.gradle.api.tasks.PathSensitivity.NONE;
+import static org.gradle.api.tasks.PathSensitivity.RELATIVE;
+
+/**
+ * A task which runs the Spine Protobuf compiler plugin in the Gradle build process.
+ *
+ * <p>The task processes the descriptor set written by {@code protoc}, copies the Java files
+ * generated by {@code protoc} into its {@linkplain #getOutputDir() output directory}, and adds
+ * the generated code to the copies. The output of {@code protoc} stays intact, so that
+ * the {@code protoc} task and this task do not share outputs, and the code is never inserted
+ * twice. The generation is performed by workers, so that the tasks of different source sets
+ * and projects may run in parallel.
+ *
+ * <p>The proto files of the source set may also be split into several
+ * {@linkplain #getShards() shards}, each processed by its own worker. The task waits for all
+ * the workers to complete and then releases the class loaders used by the generation.
+ *
+ * <p>If the source set has no proto files, the task is skipped, and its output directory
+ * is removed.
+ *
+ * @see io.spine.tools.mc.java.gradle.codegen.CodegenOptionsConfig#generateInProcess()
+ */
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class RunProtocPlugin extends DefaultTask {
+
+    /**
+     * The descriptor set written by {@code protoc}, including the imported files.
+     *
+     * <p>Absent if {@code protoc} did not write the descriptor set.
+     */
+    @InputFile
+    @Optional
+    @PathSensitive(NONE)
+    public abstract RegularFileProperty getDescriptorSet();
+
+    /**
+     * The file with the configuration of the plugin.
+     */
+    @InputFile
+    @PathSensitive(NONE)
+    public abstract RegularFileProperty getConfigFile();
+
+    /**
+     * The proto files of the source set.
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @PathSensitive(RELATIVE)
+    public abstract ConfigurableFileCollection getProtoFiles();
+
+    /**
+     * The root directories of the proto files of the source set.
+     *
+     * <p>If not set, the names of the proto files are looked up in
+     * the {@linkplain #getDescriptorSet() descriptor set}.
+     */
+    @Internal
+    public abstract ConfigurableFileCollection getProtoDirs();
+
+    /**
+     * The maximum number of shards to process the proto files in parallel.
+     */
+    @Input
+    public abstract Property<Integer> getShards();
+
+    /**
+     * The directory with the Java code generated by {@code protoc}.
+     */
+    @InputFiles
+    @PathSensitive(RELATIVE)
+    public abstract DirectoryProperty getProtocOutputDir();
+
+    /**
+     * The directory with the copy of the Java code generated by {@code protoc} completed with
+     * the code generated by the plugin.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    private void run() {
+        copyProtocOutput();
+        if (!getDescriptorSet().isPresent()) {
+            return;
+        }
+        var filesToGenerate = filesToGenerate();
+        if (filesToGenerate.isEmpty()) {
+            return;
+        }
+        var shards = getShards().get() > 1
+                     ? InProcessPlugin.shards(descriptorSet(), filesToGenerate, getShards().get())
+                     : ImmutableList.of(filesToGenerate);
+        var workers = getWorkerExecutor();
+        var queue = workers.noIsolation();
+        for (var shard : shards) {
+            queue.submit(Generate.class, parameters -> {
+                parameters.getDescriptorSet().set(getDescriptorSet());
+                parameters.getConfigFile().set(getConfigFile());
+                parameters.getFilesToGenerate().set(shard);
+                parameters.getOutputDir().set(getOutputDir());
+            });
+        }
+        try {
+            workers.await();
+        } finally {
+            InProcessPlugin.release(getOutputDir().get()
+                                                  .getAsFile()
+                                                  .toPath());
+        }
+    }
+
+    /**
+     * Replaces the contents of the output directory with the Java code generated
+     * by {@code protoc}.
+     */
+    private void copyProtocOutput() {
+        getFileSystemOperations().sync(spec -> {
+            spec.from(getProtocOutputDir());
+            spec.into(getOutputDir());
+        });
+    }
+
+    private Path descriptorSet() {
+        return getDescriptorSet().get()
+                                 .getAsFile()
+                                 .toPath();
+    }
+
+    /**
+     * Obtains the names of the proto files of the source set relative to their root directories,
+     * as {@code protoc} refers to them.
+     */
+    private ImmutableList<String> filesToGenerate() {
+        var roots = ImmutableList.copyOf(getProtoDirs().getFiles());
+        Supplier<ImmutableList<String>> knownNames =
+                Suppliers.memoize(() -> InProcessPlugin.fileNames(descriptorSet()));
+        var result = ImmutableList.<String>builder();
+        for (var file : getProtoFiles().getFiles()) {
+            result.add(relativeName(file.toPath(), roots, knownNames));
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the name of the given proto file relative to the root directory containing it.
+     *
+     * <p>If none of the roots contains the file, the name is the longest of the names known to
+     * {@code protoc} which the path of the file ends with.
+     */
+    private static String relativeName(Path file,
+                                       ImmutableList<File> roots,
+                                       Supplier<ImmutableList<String>> knownNames) {
+        for (var root : roots) {
+            var rootPath = root.toPath();
+            if (file.startsWith(rootPath)) {
+                var relative = rootPath.relativize(file);
+                return unixSeparated(relative);
+            }
+        }
+        var path = unixSeparated(file);
+        var name = knownNames.get()
+                             .stream()
+                             .filter(known -> path.endsWith('/' + known))
+                             .max(comparingInt(String::length));
+        return name.orElseThrow(() -> newIllegalStateException(
+                "The proto file `%s` is neither located in any of the proto directories %s," +
+                        " nor found in the descriptor set.",
+                file, roots
+        ));
+    }
+
+    private static String unixSeparated(Path path) {
+        return path.toString()
+                   .replace(File.separatorChar, '/');
+    }
+
+    /**
+     * The parameters of the {@link Generate} action.
+     */
+    public interface Parameters extends WorkParameters {
+
+        RegularFileProperty getDescriptorSet();
+
+        RegularFileProperty getConfigFile();
+
+        ListProperty<String> getFilesToGenerate();
+
+        DirectoryProperty getOutputDir();
+    }
+
+    /**
+     * Runs the code generation.
+     */
+    public abstract static class Generate implements WorkAction<Parameters> {
+
+        @Override
+        public void execute() {
+            var parameters = getParameters();
+            InProcessPlugin.generate(
+                    parameters.getDescriptorSet().get().getAsFile().toPath(),
+                    parameters.getFilesToGenerate().get(),
+                    parameters.getConfigFile().get().getAsFile().toPath(),
+                    parameters.getOutputDir().get().getAsFile().toPath()
+            );
+        }
+    }
+}
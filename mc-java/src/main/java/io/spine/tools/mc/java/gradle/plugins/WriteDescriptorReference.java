@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import io.spine.code.proto.DescriptorReference;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.spine.io.Delete.deleteRecursively;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A task which writes the reference to the descriptor set file of a source set.
+ *
+ * <p>The reference file is written to the directory containing the descriptor set file.
+ * The reference depends only on the name of the descriptor set file, so the name is
+ * the only input of the task. The reference file is rewritten only if its content changes.
+ */
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class WriteDescriptorReference extends DefaultTask {
+
+    /**
+     * The name of the file containing the reference.
+     */
+    static final String REFERENCE_FILE = "desc.ref";
+
+    /**
+     * The descriptor set file to reference.
+     *
+     * <p>The task tracks the {@linkplain #getDescriptorSetName() name} of the file.
+     */
+    @Internal
+    public abstract RegularFileProperty getDescriptorSetFile();
+
+    /**
+     * The file to write the reference to.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReferenceFile();
+
+    /**
+     * Obtains the name of the referenced {@linkplain #getDescriptorSetFile() descriptor set}.
+     */
+    @Input
+    public Provider<String> getDescriptorSetName() {
+        return getDescriptorSetFile().map(file -> file.getAsFile().getName());
+    }
+
+    @TaskAction
+    private void writeReference() {
+        var descriptorFile = getDescriptorSetFile().get().getAsFile();
+        var referenceFile = getReferenceFile().get().getAsFile().toPath();
+        var reference = DescriptorReference.toOneFile(descriptorFile);
+        var tempDir = getTemporaryDir().toPath();
+        if (tempDir.toFile().exists()) {
+            deleteRecursively(tempDir);
+        }
+        try {
+            Files.createDirectories(tempDir);
+            reference.writeTo(tempDir);
+            var content = Files.readAllBytes(tempDir.resolve(REFERENCE_FILE));
+            OutputFiles.writeIfChanged(referenceFile, content);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the descriptor reference file `%s`.", referenceFile);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.protobuf.CodedOutputStream;
+import io.spine.tools.mc.java.codegen.CodegenOptions;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A task which writes the configuration of {@code io.spine.tools.mc.java.protoc.Plugin}
+ * into a file.
+ *
+ * <p>The file is passed to the Protobuf compiler plugin as its parameter.
+ *
+ * <p>The options are serialized deterministically and become the input of the task.
+ * The file is rewritten only if its content changes, so that the tasks consuming the file
+ * stay up-to-date when the options are the same.
+ */
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class WritePluginConfiguration extends DefaultTask {
+
+    /**
+     * The code generation options to write.
+     *
+     * <p>The options are tracked by the task as {@linkplain #getSerializedOptions() bytes}.
+     */
+    @Internal
+    public abstract Property<CodegenOptions> getOptions();
+
+    /**
+     * The file to write the options to.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getConfigFile();
+
+    /**
+     * Obtains the serialized {@linkplain #getOptions() options}.
+     */
+    @Input
+    public Provider<byte[]> getSerializedOptions() {
+        return getOptions().map(WritePluginConfiguration::serialize);
+    }
+
+    @TaskAction
+    private void writeFile() {
+        var configFile = getConfigFile().get().getAsFile().toPath();
+        try {
+            var written = OutputFiles.writeIfChanged(configFile, getSerializedOptions().get());
+            if (!written) {
+                getLogger().info("The configuration file `{}` is up-to-date.", configFile);
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e,
+                    "Unable to store Spine Protoc Plugin configuration file at: `%s`.",
+                    configFile);
+        }
+    }
+
+    /**
+     * Serializes the options so that the equal options always produce the same bytes.
+     */
+    private static byte[] serialize(CodegenOptions options) {
+        var bytes = new ByteArrayOutputStream(options.getSerializedSize());
+        var output = CodedOutputStream.newInstance(bytes);
+        output.useDeterministicSerialization();
+        try {
+            options.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to serialize the code generation options.");
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.JavaVersion;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A task which writes a script launching the Spine Protobuf compiler plugin with
+ * the application class-data sharing (AppCDS) archive.
+ *
+ * <p>The archive contains the classes of the plugin loaded and verified by the JVM, so that
+ * each {@code protoc} invocation does not have to load and verify them again. The effect on
+ * the startup time has not been measured yet; see {@code tests/performance/protoc.scenarios}.
+ *
+ * <p>The archive is created in the Gradle user home by the first run of the plugin, which
+ * thus serves as the training run. The consequent runs, in this and other projects, reuse
+ * the archive. The archive is specific to the plugin JAR and the Java runtime.
+ *
+ * <p>The launcher is opt-in. Set the {@code io.spine.tools.mc.java.appCds} Gradle property
+ * to {@code true} to launch the plugin with the archive. The dynamic archiving requires
+ * Java 13 or above. The launcher is a shell script, so it is not used under Windows.
+ */
+@SuppressWarnings({"AbstractClassNeverImplemented", "unused"})
+    // Gradle creates a subtype for this class.
+public abstract class WriteProtocPluginLauncher extends DefaultTask {
+
+    /**
+     * The Gradle property which turns the AppCDS archive on when set to {@code true}.
+     */
+    static final String APP_CDS_PROPERTY = "io.spine.tools.mc.java.appCds";
+
+    /**
+     * The fat JAR of the plugin.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getPluginJar();
+
+    /**
+     * The Java executable to run the plugin with.
+     */
+    @Input
+    public abstract Property<String> getJavaExecutable();
+
+    /**
+     * The path of the directory to store the AppCDS archives in.
+     */
+    @Input
+    public abstract Property<String> getArchiveDir();
+
+    /**
+     * The launcher script to write.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getLauncher();
+
+    /**
+     * Tells if the plugin should be started by the launcher in the given project.
+     */
+    static boolean enabledFor(Project project) {
+        var property = project.getProviders()
+                              .gradleProperty(APP_CDS_PROPERTY)
+                              .getOrElse("false");
+        var windows = File.separatorChar == '\\';
+        return Boolean.parseBoolean(property)
+                && !windows
+                && JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_13);
+    }
+
+    /**
+     * Obtains the Java executable of the Java runtime running Gradle.
+     */
+    static String currentJava() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    /**
+     * Obtains the version of the Java runtime running Gradle.
+     */
+    static String currentJavaVersion() {
+        return System.getProperty("java.version");
+    }
+
+    @TaskAction
+    private void writeLauncher() {
+        var jar = getPluginJar().getSingleFile();
+        var archive = archiveFor(jar);
+        var launcher = getLauncher().get().getAsFile().toPath();
+        var script = script(getJavaExecutable().get(), jar.toPath(), archive);
+        try {
+            Files.createDirectories(launcher.getParent());
+            Files.write(launcher, script.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to write the Spine Protoc Plugin launcher `%s`.", launcher
+            );
+        }
+        if (!launcher.toFile().setExecutable(true)) {
+            throw newIllegalStateException(
+                    "Unable to make the Spine Protoc Plugin launcher `%s` executable.", launcher
+            );
+        }
+    }
+
+    /**
+     * Obtains the archive for the given plugin JAR.
+     *
+     * <p>The JVM rejects an archive if the JAR it was created from is changed. So, the name of
+     * the archive includes the size and the modification time of the JAR, which makes
+     * a re-published snapshot version of the plugin get a new archive.
+     */
+    private Path archiveFor(File jar) {
+        var jarName = jar.getName();
+        var baseName = jarName.substring(0, jarName.length() - ".jar".length());
+        var archiveName = String.format(
+                "%s-%d-%d.jsa", baseName, jar.length(), jar.lastModified()
+        );
+        return Path.of(getArchiveDir().get())
+                   .resolve(archiveName);
+    }
+
+    /**
+     * Composes the launcher script.
+     *
+     * <p>The JVM logging is redirected to the standard error stream, as the standard output
+     * of the plugin is the response to {@code protoc}.
+     *
+     * <p>If the archive does not exist yet, the plugin is run with the archive dumped on exit
+     * into a temporary file. The file is then moved to its place, so that the concurrent runs
+     * never observe an incomplete archive.
+     */
+    private static String script(String java, Path jar, Path archive) {
+        return "#!/bin/sh\n"
+                + "# Launches the Spine Protoc Plugin with the AppCDS archive.\n"
+                + "# Generated by the `mc-java` Gradle plugin.\n"
+                + "JAVA=" + quoted(java) + '\n'
+                + "JAR=" + quoted(jar.toString()) + '\n'
+                + "ARCHIVE=" + quoted(archive.toString()) + '\n'
+                + "LOGGING=\"-Xlog:disable -Xlog:all=warning:stderr\"\n"
+                + "if [ -f \"$ARCHIVE\" ]; then\n"
+                + "    exec \"$JAVA\" $LOGGING -XX:SharedArchiveFile=\"$ARCHIVE\""
+                + " -jar \"$JAR\" \"$@\"\n"
+                + "fi\n"
+                + "mkdir -p \"$(dirname \"$ARCHIVE\")\"\n"
+                + "\"$JAVA\" $LOGGING -XX:ArchiveClassesAtExit=\"$ARCHIVE.$$\""
+                + " -jar \"$JAR\" \"$@\"\n"
+                + "STATUS=$?\n"
+                + "if [ $STATUS -eq 0 ] && [ -f \"$ARCHIVE.$$\" ]; then\n"
+                + "    mv -f \"$ARCHIVE.$$\" \"$ARCHIVE\"\n"
+                + "else\n"
+                + "    rm -f \"$ARCHIVE.$$\"\n"
+                + "fi\n"
+                + "exit $STATUS\n";
+    }
+
+    private static String quoted(String value) {
+        return '\'' + value.replace("'", "'\\''") + '\'';
+    }
+}
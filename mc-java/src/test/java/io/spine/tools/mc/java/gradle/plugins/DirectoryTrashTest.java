@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import org.gradle.api.services.BuildServiceParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`DirectoryTrash` should")
+final class DirectoryTrashTest {
+
+    @Test
+    @DisplayName("free the location of a directory and delete its content when closed")
+    void deleteDirectory(@TempDir Path root) throws IOException, InterruptedException {
+        var dir = root.resolve("generated");
+        Files.createDirectories(dir.resolve("main/java"));
+        Files.writeString(dir.resolve("main/java/Test.java"), "class Test {}", UTF_8);
+        Files.writeString(dir.resolve("README"), "readme", UTF_8);
+        var tempDir = root.resolve("build/tmp/preClean");
+
+        var trash = new TestDirectoryTrash();
+        trash.dispose(dir, tempDir);
+        assertThat(Files.exists(dir)).isFalse();
+        assertThat(contentOf(root)).isEqualTo(1);
+
+        trash.close();
+        assertThat(contentOf(tempDir)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("put the trash next to the directory if the temporary directory is unavailable")
+    void fallBackToSibling(@TempDir Path root) throws IOException, InterruptedException {
+        var dir = root.resolve("generated");
+        Files.createDirectories(dir.resolve("main/java"));
+        var blocker = root.resolve("build");
+        Files.writeString(blocker, "not a directory", UTF_8);
+
+        var trash = new TestDirectoryTrash();
+        trash.dispose(dir, blocker.resolve("tmp/preClean"));
+        assertThat(Files.exists(dir)).isFalse();
+
+        trash.close();
+        assertThat(contentOf(root)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("delete the trash left by a previous build")
+    void deleteLeftovers(@TempDir Path root) throws IOException, InterruptedException {
+        var dir = root.resolve("generated");
+        Files.createDirectories(dir);
+        Files.createDirectories(root.resolve(".generated.mc-java-trash-42/java"));
+        var tempDir = root.resolve("build/tmp/preClean");
+        Files.createDirectories(tempDir.resolve(".generated.mc-java-trash-43/java"));
+
+        var trash = new TestDirectoryTrash();
+        trash.dispose(dir, tempDir);
+        trash.close();
+
+        assertThat(contentOf(root)).isEqualTo(1);
+        assertThat(contentOf(tempDir)).isEqualTo(0);
+    }
+
+    private static long contentOf(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            return entries.count();
+        }
+    }
+
+    /**
+     * The service instantiated without Gradle.
+     */
+    private static final class TestDirectoryTrash extends DirectoryTrash {
+
+        @Override
+        public BuildServiceParameters.None getParameters() {
+            throw new UnsupportedOperationException("The service has no parameters.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("`ExtractDescriptorSet` should")
+final class ExtractDescriptorSetTest {
+
+    @Test
+    @DisplayName("read descriptor sets from the root of a JAR")
+    void readJar(@TempDir Path dir) throws IOException {
+        var jar = dir.resolve("dependency.jar");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry("first.desc"));
+            zip.write(descriptorSet("first.proto", "shared.proto").toByteArray());
+            zip.putNextEntry(new ZipEntry("nested/ignored.desc"));
+            zip.write(descriptorSet("ignored.proto").toByteArray());
+            zip.putNextEntry(new ZipEntry("second.desc"));
+            zip.write(descriptorSet("second.proto", "shared.proto").toByteArray());
+        }
+
+        assertThat(fileNames(ExtractDescriptorSet.read(jar.toFile())))
+                .containsExactly("first.proto", "shared.proto", "second.proto")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("read descriptor sets from the root of a directory")
+    void readDirectory(@TempDir Path dir) throws IOException {
+        Files.write(dir.resolve("second.desc"),
+                    descriptorSet("second.proto", "shared.proto").toByteArray());
+        Files.write(dir.resolve("first.desc"),
+                    descriptorSet("first.proto", "shared.proto").toByteArray());
+        Files.write(dir.resolve("other.bin"), descriptorSet("other.proto").toByteArray());
+        var nested = Files.createDirectory(dir.resolve("nested"));
+        Files.write(nested.resolve("ignored.desc"), descriptorSet("ignored.proto").toByteArray());
+
+        assertThat(fileNames(ExtractDescriptorSet.read(dir.toFile())))
+                .containsExactly("first.proto", "shared.proto", "second.proto")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("produce an empty descriptor set for a directory without descriptor sets")
+    void readEmptyDirectory(@TempDir Path dir) {
+        assertThat(ExtractDescriptorSet.read(dir.toFile())
+                                       .getFileList())
+                .isEmpty();
+    }
+
+    private static FileDescriptorSet descriptorSet(String... fileNames) {
+        var builder = FileDescriptorSet.newBuilder();
+        for (var name : fileNames) {
+            builder.addFile(FileDescriptorProto.newBuilder()
+                                    .setName(name));
+        }
+        return builder.build();
+    }
+
+    private static Iterable<String> fileNames(FileDescriptorSet descriptorSet) {
+        return descriptorSet.getFileList()
+                            .stream()
+                            .map(FileDescriptorProto::getName)
+                            .collect(toList());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.gradle.plugins;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`OutputFiles` should")
+final class OutputFilesTest {
+
+    private static final byte[] CONTENT = "content".getBytes(UTF_8);
+
+    @Test
+    @DisplayName("write a new file with its parent directories")
+    void writeNewFile(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("nested/file.bin");
+
+        assertThat(OutputFiles.writeIfChanged(file, CONTENT)).isTrue();
+        assertThat(Files.readAllBytes(file)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("leave a file with the same content intact")
+    void keepSameContent(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("file.bin");
+        Files.write(file, CONTENT);
+        var modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(file, modified);
+
+        assertThat(OutputFiles.writeIfChanged(file, CONTENT)).isFalse();
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(modified);
+    }
+
+    @Test
+    @DisplayName("replace a file with different content and leave no temporary files")
+    void replaceChangedContent(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("file.bin");
+        Files.write(file, "old".getBytes(UTF_8));
+
+        assertThat(OutputFiles.writeIfChanged(file, CONTENT)).isTrue();
+        assertThat(Files.readAllBytes(file)).isEqualTo(CONTENT);
+        try (var files = Files.list(dir)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+}
@@ -138,10 +138,18 @@ allprojects {
 
 subprojects {
 
+    /*
+     * Synthetic projects of the configuration benchmark may skip `mc-java` in order
+     * to measure the baseline. See `performance/configuration.scenarios`.
+     */
+    val skipMcJava = name.startsWith("synthetic-") && rootProject.hasProperty("withoutMcJava")
+
     apply {
         plugin(ErrorProne.GradlePlugin.id)
         plugin(Protobuf.GradlePlugin.id)
-        plugin("io.spine.mc-java")
+        if (!skipMcJava) {
+            plugin("io.spine.mc-java")
+        }
         plugin("idea")
     }
 
@@ -127,6 +127,16 @@ tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
     }
 }
 
+/**
+ * The generator of the synthetic Protobuf model.
+ *
+ * The sources are shared by the `buildSrc` of the main build and the one of the `tests` build,
+ * so that the JMH benchmarks and the scaling tests process the same model.
+ */
+kotlin {
+    sourceSets.getByName("main").kotlin.srcDir("../../buildSrc/src/synthetic/kotlin")
+}
+
 dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind:$jacksonVersion")
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-xml:$jacksonVersion")
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+import io.spine.internal.gradle.protobuf.GenerateSyntheticProtos
+
+/*
+ * The size of the synthetic model processed by the Model Compiler in this project.
+ *
+ * By default, the model is small enough for a regular build. Pass the properties to exercise
+ * the code generation at scale, e.g. `-PsyntheticFiles=500 -PsyntheticMessages=20` produces
+ * a model of more than 10,000 types.
+ */
+val syntheticFiles: String? by project
+val syntheticMessages: String? by project
+val syntheticFields: String? by project
+
+val generateSyntheticProtos by tasks.registering(GenerateSyntheticProtos::class) {
+    description = "Generates the `.proto` files of the synthetic model."
+    files.set(syntheticFiles?.toInt() ?: 10)
+    messagesPerFile.set(syntheticMessages?.toInt() ?: 5)
+    fieldsPerMessage.set(syntheticFields?.toInt() ?: 10)
+    outputDir.set(layout.buildDirectory.dir("synthetic-proto"))
+}
+
+sourceSets.main {
+    proto.srcDir(generateSyntheticProtos)
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.mc.java.scaling;
+
+import io.spine.base.CommandMessage;
+import io.spine.base.EntityState;
+import io.spine.base.EventMessage;
+import io.spine.base.RejectionMessage;
+import io.spine.base.ThrowableMessage;
+import io.spine.base.UuidValue;
+import io.spine.tools.synthetic.f0.Command0;
+import io.spine.tools.synthetic.f1.Event0;
+import io.spine.tools.synthetic.f2.Rejection0;
+import io.spine.tools.synthetic.f2.Rejections;
+import io.spine.tools.synthetic.f3.State0;
+import io.spine.tools.synthetic.f4.F4Id;
+import io.spine.tools.synthetic.f4.Value0;
+import io.spine.validate.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Code generated for the synthetic model should")
+class SyntheticModelTest {
+
+    @Test
+    @DisplayName("mark signals, entity states, and UUID values with the interfaces")
+    void markMessages() {
+        assertThat(CommandMessage.class.isAssignableFrom(Command0.class)).isTrue();
+        assertThat(EventMessage.class.isAssignableFrom(Event0.class)).isTrue();
+        assertThat(RejectionMessage.class.isAssignableFrom(Rejections.Rejection0.class)).isTrue();
+        assertThat(EntityState.class.isAssignableFrom(State0.class)).isTrue();
+        assertThat(UuidValue.class.isAssignableFrom(F4Id.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("generate throwable rejections")
+    void generateRejections() {
+        assertThat(ThrowableMessage.class.isAssignableFrom(Rejection0.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("validate the messages")
+    @SuppressWarnings("ThrowableNotThrown") // Calling `vBuild()` throws itself.
+    void validate() {
+        assertThrows(ValidationException.class, () -> Value0.newBuilder().vBuild());
+        var valid = Value0.newBuilder()
+                .setId("value")
+                .vBuild();
+        assertThat(valid.getId()).isEqualTo("value");
+    }
+}
@@ -31,11 +31,26 @@ include(
     "known-types",
     "model-compiler",
     "rejection",
+    "scaling",
     "validating-options",
     "validation",
     "validation-gen",
 )
 
+/*
+ * Synthetic empty projects used for measuring the configuration time of the `mc-java` plugins.
+ *
+ * Pass `-PsyntheticProjects=<count>` to add the given number of projects to the build.
+ * See `performance/configuration.scenarios` for the details.
+ */
+val syntheticProjects: String? by settings
+val syntheticCount = syntheticProjects?.toInt() ?: 0
+(1..syntheticCount).forEach { index ->
+    val name = "synthetic-$index"
+    include(name)
+    project(":$name").projectDir = file("$rootDir/build/synthetic/$name").also { it.mkdirs() }
+}
+
 /*
  * Dependency links established with the Gradle included build.
  *